@@ -0,0 +1,66 @@
+package themissingobjects.encoding;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Base32} encoding and decoding, from short tokens to large payloads.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base32Benchmark {
+
+    @Param({ "16", "1024", "1048576" })
+    public int size;
+
+    private final Base32 base32 = Base32.rfc4648();
+    private byte[] bytes;
+    private char[] chars;
+    private byte[] ascii;
+    private byte[] decoded;
+    private long hi;
+    private long lo;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(size);
+        bytes = new byte[size];
+        random.nextBytes(bytes);
+        chars = new char[base32.encodedLength(size)];
+        ascii = new byte[chars.length];
+        base32.encode(bytes, 0, size, ascii, 0);
+        decoded = new byte[size];
+        hi = random.nextLong();
+        lo = random.nextLong();
+    }
+
+    @Benchmark
+    public String encode_to_String() {
+        return base32.encode(bytes);
+    }
+
+    @Benchmark
+    public char[] encode_to_chars() {
+        base32.encode(bytes, 0, bytes.length, chars, 0);
+        return chars;
+    }
+
+    @Benchmark
+    public byte[] decode_from_ascii() {
+        base32.decode(ascii, 0, ascii.length, decoded, 0);
+        return decoded;
+    }
+
+    @Benchmark
+    public char[] encode_128_bits() {
+        base32.encode(hi, lo, chars, 0);
+        return chars;
+    }
+
+}
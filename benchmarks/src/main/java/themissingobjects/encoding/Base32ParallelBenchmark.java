@@ -0,0 +1,60 @@
+package themissingobjects.encoding;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Base32#encodeParallel(byte[], int, int, char[], int, ForkJoinPool, int)} with pools of
+ * increasing size, showing how encoding of large payloads scales with the number of cores.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class Base32ParallelBenchmark {
+
+    @Param({ "1048576", "16777216" })
+    public int size;
+
+    @Param({ "1", "2", "4", "8" })
+    public int parallelism;
+
+    @Param({ "65536" })
+    public int threshold;
+
+    private final Base32 base32 = Base32.rfc4648();
+    private ForkJoinPool pool;
+    private byte[] bytes;
+    private char[] chars;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        chars = new char[base32.encodedLength(size)];
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public char[] sequential() {
+        base32.encode(bytes, 0, bytes.length, chars, 0);
+        return chars;
+    }
+
+    @Benchmark
+    public char[] parallel() {
+        base32.encodeParallel(bytes, 0, bytes.length, chars, 0, pool, threshold);
+        return chars;
+    }
+
+}
@@ -0,0 +1,26 @@
+package themissingobjects.finance;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link CurrencyPair} parsing.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CurrencyPairBenchmark {
+
+    @Param({ "EUR/USD", "USD/JPY", "GBP/CHF", "AUD/NZD" })
+    public String text;
+
+    @Benchmark
+    public CurrencyPair parse() {
+        return CurrencyPair.parse(text);
+    }
+
+}
@@ -0,0 +1,75 @@
+package themissingobjects.finance;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Money} arithmetic, formatting and conversion, in different currencies and locales.
+ *
+ * @see MoneyParseBenchmark
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyBenchmark {
+
+    @Param({ "EUR", "USD", "JPY", "GBP" })
+    public String currency;
+
+    @Param({ "en_US", "en_GB", "it_IT", "de_DE", "ja_JP" })
+    public String locale;
+
+    private Locale loc;
+    private Money money;
+    private Money other;
+    private ExchangeRate rate;
+
+    @Setup
+    public void setUp() {
+        Currency c = Currency.getInstance(currency);
+        loc = Locale.forLanguageTag(locale.replace('_', '-'));
+        money = Money.of(new BigDecimal("12345.678").setScale(c.getDefaultFractionDigits(), RoundingMode.HALF_UP), c);
+        other = Money.of(new BigDecimal("987.6").setScale(c.getDefaultFractionDigits(), RoundingMode.HALF_UP), c);
+        Currency counter = "USD".equals(currency) ? Currency.getInstance("EUR") : Currency.getInstance("USD");
+        rate = ExchangeRate.of(Quote.of(new BigDecimal("1.0923")), CurrencyPair.of(c, counter));
+    }
+
+    @Benchmark
+    public Money plus() {
+        return money.plus(other);
+    }
+
+    @Benchmark
+    public Money minus() {
+        return money.minus(other);
+    }
+
+    @Benchmark
+    public Money times_int() {
+        return money.times(7);
+    }
+
+    @Benchmark
+    public Money times_BigDecimal() {
+        return money.times(BigDecimal.TEN);
+    }
+
+    @Benchmark
+    public Money convert() {
+        return money.convert(rate);
+    }
+
+    @Benchmark
+    public String format() {
+        return money.toString(loc);
+    }
+
+}
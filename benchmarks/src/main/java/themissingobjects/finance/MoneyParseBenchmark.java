@@ -0,0 +1,45 @@
+package themissingobjects.finance;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.util.Currency;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Money#parse(String, Locale)}.
+ *
+ * <p>
+ * The text parsed is produced by {@link Money#toString(Locale)}, in the combinations of currency and locale whose
+ * symbol is recognized by the parser.
+ * </p>
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MoneyParseBenchmark {
+
+    @Param({ "USD en_US", "EUR en_US", "EUR it_IT", "EUR de_DE", "EUR ja_JP" })
+    public String currencyAndLocale;
+
+    private Locale locale;
+    private String text;
+
+    @Setup
+    public void setUp() {
+        String[] parts = currencyAndLocale.split(" ");
+        locale = Locale.forLanguageTag(parts[1].replace('_', '-'));
+        text = Money.of(new BigDecimal("12345.67"), Currency.getInstance(parts[0])).toString(locale);
+    }
+
+    @Benchmark
+    public Money parse() throws ParseException {
+        return Money.parse(text, locale);
+    }
+
+}
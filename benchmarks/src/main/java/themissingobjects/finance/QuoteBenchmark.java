@@ -0,0 +1,55 @@
+package themissingobjects.finance;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Quote} equality, comparison and arithmetic, with same and different scales.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuoteBenchmark {
+
+    @Param({ "0", "4", "8" })
+    public int leftScale;
+
+    @Param({ "0", "4", "8" })
+    public int rightScale;
+
+    private Quote left;
+    private Quote right;
+
+    @Setup
+    public void setUp() {
+        left = Quote.of(new BigDecimal("1.2345").setScale(leftScale, RoundingMode.HALF_UP));
+        right = Quote.of(new BigDecimal("1.2345").setScale(rightScale, RoundingMode.HALF_UP));
+    }
+
+    @Benchmark
+    public boolean equals() {
+        return left.equals(right);
+    }
+
+    @Benchmark
+    public int compareTo() {
+        return left.compareTo(right);
+    }
+
+    @Benchmark
+    public Quote plus() {
+        return left.plus(right);
+    }
+
+    @Benchmark
+    public Quote minus() {
+        return left.minus(right);
+    }
+
+}
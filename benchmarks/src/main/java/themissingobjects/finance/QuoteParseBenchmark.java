@@ -0,0 +1,46 @@
+package themissingobjects.finance;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Quote#parse(CharSequence)} and {@link Quote#parse(byte[], int, int)}, compared with
+ * {@code Quote.of(new BigDecimal(text))}.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QuoteParseBenchmark {
+
+    @Param({ "1.0923", "109.45", "0.00001234", "20999999.97690000" })
+    public String text;
+
+    private byte[] bytes;
+
+    @Setup
+    public void setUp() {
+        bytes = text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public Quote parse() {
+        return Quote.parse(text);
+    }
+
+    @Benchmark
+    public Quote parse_bytes() {
+        return Quote.parse(bytes, 0, bytes.length);
+    }
+
+    @Benchmark
+    public Quote of_BigDecimal() {
+        return Quote.of(new BigDecimal(text));
+    }
+
+}
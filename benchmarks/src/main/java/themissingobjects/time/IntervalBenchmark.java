@@ -0,0 +1,60 @@
+package themissingobjects.time;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.*;
+import java.time.temporal.Temporal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of {@link Interval#contains(Temporal)} with different temporals, inside and outside the interval.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IntervalBenchmark {
+
+    @Param({ "LocalDate", "Instant", "ZonedDateTime" })
+    public String temporal;
+
+    @Param({ "bounded", "open" })
+    public String shape;
+
+    private Interval<Temporal> interval;
+    private Temporal inside;
+    private Temporal outside;
+
+    @Setup
+    public void setUp() {
+        ZonedDateTime from = ZonedDateTime.parse("2020-01-01T00:00:00Z");
+        ZonedDateTime to = from.plusYears(1);
+        Temporal[] bounds;
+        switch (temporal) {
+            case "LocalDate":
+                bounds = new Temporal[] { from.toLocalDate(), to.toLocalDate(), from.plusMonths(6).toLocalDate(), to.plusDays(1).toLocalDate() };
+                break;
+            case "Instant":
+                bounds = new Temporal[] { from.toInstant(), to.toInstant(), from.plusMonths(6).toInstant(), to.plusDays(1).toInstant() };
+                break;
+            default:
+                bounds = new Temporal[] { from, to, from.plusMonths(6), to.plusDays(1) };
+        }
+        interval = "open".equals(shape) ? Interval.endingTo(bounds[1]) : Interval.between(bounds[0], bounds[1]);
+        inside = bounds[2];
+        outside = bounds[3];
+    }
+
+    @Benchmark
+    public boolean contains_inside() {
+        return interval.contains(inside);
+    }
+
+    @Benchmark
+    public boolean contains_outside() {
+        return interval.contains(outside);
+    }
+
+}
@@ -1,101 +1,837 @@
 package themissingobjects.encoding;
 
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Represents an encoder/decoder of <a href="https://en.wikipedia.org/wiki/Base32" >Base32</a>, without padding.
+ *
+ * <p>
+ * Every group of 5 bytes is encoded in 8 characters of a 32 characters alphabet. Besides the default alphabet,
+ * the alphabets of <a href="https://tools.ietf.org/html/rfc4648#section-6" >RFC 4648</a> and of
+ * <a href="https://www.crockford.com/base32.html" >Crockford</a> are available via {@link #rfc4648()} and
+ * {@link #crockford()}.
+ * </p>
+ * <p>
+ * Bytes can be encoded into (and decoded from) {@code char[]}, {@code byte[]} (as ASCII) and {@code ByteBuffer}s
+ * supplied by the caller, so encoding millions of short tokens does not allocate anything. Decoding uses a lookup
+ * table and it is strict by default: characters out of the alphabet, invalid lengths and non-zero trailing bits
+ * are refused with an {@code IllegalArgumentException}. A {@link #lenient()} decoder ignores case, trailing bits
+ * and, when the alphabet has digits but not the similar letters (as the Crockford one), accepts {@code O} as
+ * {@code 0} and {@code I}, {@code L} as {@code 1}.
+ * </p>
+ * <p>
+ * Large inputs can be encoded in parallel by a {@code ForkJoinPool} (see {@link #encodeParallel(byte[])}): every
+ * group of 5 bytes is encoded independently, so the input is split on group boundaries and every chunk is written
+ * at its own offset of the output.
+ * </p>
+ * <p>
+ * Identifiers of 64 and 128 bits ({@code long}s, {@code UUID}s...) have fixed-width fast paths (see
+ * {@link #encode(long)} and {@link #encode(long, long)}) writing the value as a number, most significant digit
+ * first. Using an {@link #isOrderPreserving() order-preserving} alphabet (as the Crockford one), the encoded values
+ * sort as the unsigned values they represent.
+ * </p>
+ * <p>
+ * This class is immutable and thread safe.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
 public class Base32 {
 
+    private static final String DEFAULT_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUV0123456789";
+    private static final String RFC4648_ALPHABET = "ABCDEFGHIJKLMNOPQRSTUVWXYZ234567";
+    private static final String CROCKFORD_ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    /**
+     * The default number of bytes under which {@code encodeParallel} methods encode sequentially.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 64 * 1024;
+
+    /**
+     * The number of characters of an encoded {@code long}.
+     */
+    public static final int LONG_LENGTH = 13;
+
+    /**
+     * The number of characters of an encoded 128 bits value.
+     */
+    public static final int LONG_PAIR_LENGTH = 26;
+
     private final char[] alphabet;
-    private final int mask;
-    private final int shift;
+    private final byte[] asciiAlphabet;
+    private final byte[] digits;
+    private final boolean lenient;
 
     public Base32() {
-        this("ABCDEFGHIJKLMNOPQRSTUV0123456789".toCharArray());
+        this(DEFAULT_ALPHABET.toCharArray());
     }
 
+    /**
+     * Creates a strict {@code Base32} using the specified alphabet.
+     *
+     * @param alphabet 32 distinct ASCII characters
+     * @throws IllegalArgumentException if the alphabet is not made by 32 distinct ASCII characters
+     */
     public Base32(char[] alphabet) {
-        this.alphabet = alphabet;
-        this.mask = alphabet.length -1;
-        this.shift = Integer.numberOfLeadingZeros(alphabet.length);
-        System.out.println(mask + "; " + shift);
+        this(alphabet, false);
     }
 
-    /*
-    public String encode(byte[] data) {
-        System.out.println(data.length);
-        int outputLength = (data.length * 8 + shift - 1) / shift;
-        System.out.println(outputLength);
-
-        StringBuilder result = new StringBuilder(outputLength);
-
-        int buffer = data[0];
-        int next = 1;
-        int bitsLeft = 8;
-        while (bitsLeft > 0 || next < data.length) {
-            if (bitsLeft < shift) {
-                if (next < data.length) {
-                    buffer <<= 8;
-                    buffer |= (data[next++] & 0xff);
-                    bitsLeft += 8;
-                } else {
-                    int pad = shift - bitsLeft;
-                    buffer <<= pad;
-                    bitsLeft += pad;
-                }
+    private Base32(char[] alphabet, boolean lenient) {
+        if (alphabet.length != 32)
+            throw new IllegalArgumentException("alphabet must have 32 characters (found " + alphabet.length + ")");
+
+        this.alphabet = alphabet.clone();
+        this.asciiAlphabet = new byte[32];
+        this.digits = new byte[128];
+        this.lenient = lenient;
+
+        Arrays.fill(digits, (byte) -1);
+        for (int i = 0; i < 32; i++) {
+            char c = alphabet[i];
+            if (c >= 128 || digits[c] >= 0)
+                throw new IllegalArgumentException("alphabet must have distinct ASCII characters (found '" + new String(alphabet) + "')");
+            asciiAlphabet[i] = (byte) c;
+            digits[c] = (byte) i;
+        }
+        if (lenient) {
+            for (int i = 0; i < 32; i++) {
+                alias(Character.toLowerCase(alphabet[i]), alphabet[i]);
+                alias(Character.toUpperCase(alphabet[i]), alphabet[i]);
             }
-            int index = mask & (buffer >> (bitsLeft - shift));
-            bitsLeft -= shift;
-            result.append(alphapet[index]);
+            alias('O', '0');
+            alias('o', '0');
+            alias('I', '1');
+            alias('i', '1');
+            alias('L', '1');
+            alias('l', '1');
         }
-        return result.toString();
     }
 
+    /**
+     * Returns a strict {@code Base32} using the alphabet of RFC 4648 ({@code A-Z2-7}).
+     * @return a strict {@code Base32} using the alphabet of RFC 4648
+     */
+    public static Base32 rfc4648() {
+        return new Base32(RFC4648_ALPHABET.toCharArray());
+    }
+
+    /**
+     * Returns a strict {@code Base32} using the alphabet of Crockford ({@code 0-9A-Z} without {@code I}, {@code L}, {@code O} and {@code U}).
+     *
+     * <p>
+     * The alphabet is in ascending ASCII order, so encoded values compare as the bytes they represent.
+     * </p>
+     *
+     * @return a strict {@code Base32} using the alphabet of Crockford
      */
+    public static Base32 crockford() {
+        return new Base32(CROCKFORD_ALPHABET.toCharArray());
+    }
+
+    /**
+     * Returns a {@code Base32} with the same alphabet of this one, decoding in lenient mode.
+     * @return a lenient {@code Base32}
+     */
+    public Base32 lenient() {
+        return lenient ? this : new Base32(alphabet, true);
+    }
+
+    public boolean isLenient() {
+        return lenient;
+    }
+
+    /**
+     * Returns {@code true} if the characters of the alphabet are in ascending order, so that values encoded by the
+     * fixed-width methods sort as the unsigned values they represent.
+     *
+     * @return {@code true} if the alphabet is in ascending order, otherwise {@code false}
+     */
+    public boolean isOrderPreserving() {
+        for (int i = 1; i < 32; i++)
+            if (alphabet[i - 1] >= alphabet[i])
+                return false;
+        return true;
+    }
+
+    /**
+     * Returns the number of characters needed to encode the specified number of bytes.
+     *
+     * @param length a number of bytes
+     * @return the number of characters needed to encode them
+     */
+    public int encodedLength(int length) {
+        return (int) ((length * 8L + 4) / 5);
+    }
+
+    /**
+     * Returns the number of bytes decoded from the specified number of characters.
+     *
+     * @param length a number of characters
+     * @return the number of bytes decoded
+     */
+    public int decodedLength(int length) {
+        return (int) (length * 5L / 8);
+    }
 
     public String encode(byte[] data) {
-        StringBuffer base32 = new StringBuffer((data.length * 8 + 4) / 5);
-        int currByte, digit, i = 0;
-        while (i < data.length) {
-            // INVARIANTS FOR EACH STEP n in [0..5[; digit in [0..31[;
-            // The remaining n bits are already aligned on top positions
-            // of the 5 least bits of digit, the other bits are 0.
-            // //// STEP n = 0; insert new 5 bits, leave 3 bits
-            currByte = data[i++] & 255;
-            base32.append(alphabet[(currByte >> 3)]);
-            digit = (currByte & 7) << 2;
-            if (i >= data.length) { // put the last 3 bits
-                base32.append(alphabet[(digit)]);
-                break;
-            }
-            // //// STEP n = 3: insert 2 new bits, then 5 bits, leave 1 bit
-            currByte = data[i++] & 255;
-            base32.append(alphabet[(digit | (currByte >> 6))]);
-            base32.append(alphabet[((currByte >> 1) & 31)]);
-            digit = (currByte & 1) << 4;
-            if (i >= data.length) { // put the last 1 bit
-                base32.append(alphabet[(digit)]);
-                break;
-            }
-            // //// STEP n = 1: insert 4 new bits, leave 4 bit
-            currByte = data[i++] & 255;
-            base32.append(alphabet[(digit | (currByte >> 4))]);
-            digit = (currByte & 15) << 1;
-            if (i >= data.length) { // put the last 4 bits
-                base32.append(alphabet[(digit)]);
-                break;
-            }
-            // //// STEP n = 4: insert 1 new bit, then 5 bits, leave 2 bits
-            currByte = data[i++] & 255;
-            base32.append(alphabet[(digit | (currByte >> 7))]);
-            base32.append(alphabet[((currByte >> 2) & 31)]);
-            digit = (currByte & 3) << 3;
-            if (i >= data.length) { // put the last 2 bits
-                base32.append(alphabet[(digit)]);
-                break;
+        char[] chars = new char[encodedLength(data.length)];
+        encode(data, 0, data.length, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Encodes the specified bytes into the specified characters.
+     *
+     * @param src the bytes to encode
+     * @param offset the offset of the first byte to encode
+     * @param length the number of bytes to encode
+     * @param dst the destination of characters
+     * @param dstOffset the offset of the first character written
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the bytes are out of {@code src} or the characters do not fit in {@code dst}
+     */
+    public int encode(byte[] src, int offset, int length, char[] dst, int dstOffset) {
+        int encoded = encodedLength(length);
+        checkRange(src.length, offset, length);
+        checkRange(dst.length, dstOffset, encoded);
+
+        int end = offset + length;
+        int d = dstOffset;
+        for (int i = offset; i < end; i += 5) {
+            int n = Math.min(5, end - i);
+            long bits = bits(src, i, n);
+            int chars = n == 5 ? 8 : encodedLength(n);
+            for (int k = 0; k < chars; k++)
+                dst[d++] = alphabet[(int) (bits >>> (35 - 5 * k)) & 31];
+        }
+        return encoded;
+    }
+
+    /**
+     * Encodes the specified bytes into the specified ASCII characters.
+     *
+     * @param src the bytes to encode
+     * @param offset the offset of the first byte to encode
+     * @param length the number of bytes to encode
+     * @param dst the destination of ASCII characters
+     * @param dstOffset the offset of the first character written
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the bytes are out of {@code src} or the characters do not fit in {@code dst}
+     */
+    public int encode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int encoded = encodedLength(length);
+        checkRange(src.length, offset, length);
+        checkRange(dst.length, dstOffset, encoded);
+
+        int end = offset + length;
+        int d = dstOffset;
+        for (int i = offset; i < end; i += 5) {
+            int n = Math.min(5, end - i);
+            long bits = bits(src, i, n);
+            int chars = n == 5 ? 8 : encodedLength(n);
+            for (int k = 0; k < chars; k++)
+                dst[d++] = asciiAlphabet[(int) (bits >>> (35 - 5 * k)) & 31];
+        }
+        return encoded;
+    }
+
+    /**
+     * Encodes the remaining bytes of {@code src} into {@code dst} as ASCII characters, advancing the position of both.
+     *
+     * @param src the bytes to encode
+     * @param dst the destination of ASCII characters
+     * @return the number of characters written
+     * @throws BufferOverflowException if the characters do not fit in {@code dst}
+     */
+    public int encode(ByteBuffer src, ByteBuffer dst) {
+        int length = src.remaining();
+        int encoded = encodedLength(length);
+        if (dst.remaining() < encoded)
+            throw new BufferOverflowException();
+
+        if (src.hasArray() && dst.hasArray()) {
+            encode(src.array(), src.arrayOffset() + src.position(), length, dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + encoded);
+            return encoded;
+        }
+        while (src.hasRemaining()) {
+            int n = Math.min(5, src.remaining());
+            long bits = 0;
+            for (int k = 0; k < 5; k++)
+                bits = bits << 8 | (k < n ? src.get() & 0xff : 0);
+            int chars = n == 5 ? 8 : encodedLength(n);
+            for (int k = 0; k < chars; k++)
+                dst.put(asciiAlphabet[(int) (bits >>> (35 - 5 * k)) & 31]);
+        }
+        return encoded;
+    }
+
+    /**
+     * Encodes the specified bytes in parallel, using the common {@code ForkJoinPool}.
+     *
+     * @param data the bytes to encode
+     * @return the encoded text
+     * @see #encodeParallel(byte[], int, int, char[], int, ForkJoinPool, int)
+     */
+    public String encodeParallel(byte[] data) {
+        char[] chars = new char[encodedLength(data.length)];
+        encodeParallel(data, 0, data.length, chars, 0, ForkJoinPool.commonPool(), DEFAULT_PARALLEL_THRESHOLD);
+        return new String(chars);
+    }
+
+    /**
+     * Encodes the specified bytes into the specified characters in parallel, splitting the bytes in chunks encoded
+     * by the tasks of the specified pool.
+     *
+     * @param src the bytes to encode
+     * @param offset the offset of the first byte to encode
+     * @param length the number of bytes to encode
+     * @param dst the destination of characters
+     * @param dstOffset the offset of the first character written
+     * @param pool the pool executing the tasks
+     * @param threshold the number of bytes under which a chunk is encoded sequentially
+     * @return the number of characters written
+     * @throws IllegalArgumentException if the threshold is less than 5
+     * @throws IndexOutOfBoundsException if the bytes are out of {@code src} or the characters do not fit in {@code dst}
+     */
+    public int encodeParallel(byte[] src, int offset, int length, char[] dst, int dstOffset, ForkJoinPool pool, int threshold) {
+        int encoded = encodedLength(length);
+        checkRange(src.length, offset, length);
+        checkRange(dst.length, dstOffset, encoded);
+        checkThreshold(threshold);
+
+        if (length <= threshold)
+            encode(src, offset, length, dst, dstOffset);
+        else
+            pool.invoke(new EncodeTask(src, offset, length, dst, null, dstOffset, threshold));
+        return encoded;
+    }
+
+    /**
+     * Encodes the specified bytes into the specified ASCII characters in parallel, splitting the bytes in chunks
+     * encoded by the tasks of the specified pool.
+     *
+     * @param src the bytes to encode
+     * @param offset the offset of the first byte to encode
+     * @param length the number of bytes to encode
+     * @param dst the destination of ASCII characters
+     * @param dstOffset the offset of the first character written
+     * @param pool the pool executing the tasks
+     * @param threshold the number of bytes under which a chunk is encoded sequentially
+     * @return the number of characters written
+     * @throws IllegalArgumentException if the threshold is less than 5
+     * @throws IndexOutOfBoundsException if the bytes are out of {@code src} or the characters do not fit in {@code dst}
+     */
+    public int encodeParallel(byte[] src, int offset, int length, byte[] dst, int dstOffset, ForkJoinPool pool, int threshold) {
+        int encoded = encodedLength(length);
+        checkRange(src.length, offset, length);
+        checkRange(dst.length, dstOffset, encoded);
+        checkThreshold(threshold);
+
+        if (length <= threshold)
+            encode(src, offset, length, dst, dstOffset);
+        else
+            pool.invoke(new EncodeTask(src, offset, length, null, dst, dstOffset, threshold));
+        return encoded;
+    }
+
+    /**
+     * Decodes the specified text.
+     *
+     * @param text a text encoded in Base32
+     * @return the bytes decoded
+     * @throws IllegalArgumentException if the text is not valid
+     */
+    public byte[] decode(CharSequence text) {
+        int length = text.length();
+        byte[] dst = new byte[checkedDecodedLength(length)];
+        int d = 0;
+        for (int i = 0; i < length; ) {
+            int n = Math.min(8, length - i);
+            long bits = 0;
+            for (int k = 0; k < n; k++, i++)
+                bits = bits << 5 | digit(text.charAt(i), i);
+            d = write(bits, n, dst, d);
+        }
+        return dst;
+    }
+
+    /**
+     * Decodes the specified characters into the specified bytes.
+     *
+     * @param src the characters to decode
+     * @param offset the offset of the first character to decode
+     * @param length the number of characters to decode
+     * @param dst the destination of bytes
+     * @param dstOffset the offset of the first byte written
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the characters are not valid
+     * @throws IndexOutOfBoundsException if the characters are out of {@code src} or the bytes do not fit in {@code dst}
+     */
+    public int decode(char[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int decoded = checkedDecodedLength(length);
+        checkRange(src.length, offset, length);
+        checkRange(dst.length, dstOffset, decoded);
+
+        int end = offset + length;
+        int d = dstOffset;
+        for (int i = offset; i < end; ) {
+            int n = Math.min(8, end - i);
+            long bits = 0;
+            for (int k = 0; k < n; k++, i++)
+                bits = bits << 5 | digit(src[i], i - offset);
+            d = write(bits, n, dst, d);
+        }
+        return decoded;
+    }
+
+    /**
+     * Decodes the specified ASCII characters into the specified bytes.
+     *
+     * @param src the ASCII characters to decode
+     * @param offset the offset of the first character to decode
+     * @param length the number of characters to decode
+     * @param dst the destination of bytes
+     * @param dstOffset the offset of the first byte written
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the characters are not valid
+     * @throws IndexOutOfBoundsException if the characters are out of {@code src} or the bytes do not fit in {@code dst}
+     */
+    public int decode(byte[] src, int offset, int length, byte[] dst, int dstOffset) {
+        int decoded = checkedDecodedLength(length);
+        checkRange(src.length, offset, length);
+        checkRange(dst.length, dstOffset, decoded);
+
+        int end = offset + length;
+        int d = dstOffset;
+        for (int i = offset; i < end; ) {
+            int n = Math.min(8, end - i);
+            long bits = 0;
+            for (int k = 0; k < n; k++, i++)
+                bits = bits << 5 | digit(src[i] & 0xff, i - offset);
+            d = write(bits, n, dst, d);
+        }
+        return decoded;
+    }
+
+    /**
+     * Decodes the remaining ASCII characters of {@code src} into {@code dst}, advancing the position of both.
+     *
+     * @param src the ASCII characters to decode
+     * @param dst the destination of bytes
+     * @return the number of bytes written
+     * @throws IllegalArgumentException if the characters are not valid
+     * @throws BufferOverflowException if the bytes do not fit in {@code dst}
+     */
+    public int decode(ByteBuffer src, ByteBuffer dst) {
+        int length = src.remaining();
+        int decoded = checkedDecodedLength(length);
+        if (dst.remaining() < decoded)
+            throw new BufferOverflowException();
+
+        if (src.hasArray() && dst.hasArray()) {
+            decode(src.array(), src.arrayOffset() + src.position(), length, dst.array(), dst.arrayOffset() + dst.position());
+            src.position(src.limit());
+            dst.position(dst.position() + decoded);
+            return decoded;
+        }
+        for (int i = 0; i < length; ) {
+            int n = Math.min(8, length - i);
+            long bits = 0;
+            for (int k = 0; k < n; k++, i++)
+                bits = bits << 5 | digit(src.get() & 0xff, i);
+            int bytes = n * 5 / 8;
+            bits = trailingBitsRemoved(bits, n, bytes);
+            for (int k = bytes - 1; k >= 0; k--)
+                dst.put((byte) (bits >>> (8 * k)));
+        }
+        return decoded;
+    }
+
+    /**
+     * Encodes the specified value as an unsigned number of {@value #LONG_LENGTH} characters.
+     *
+     * @param value a value
+     * @return the encoded value
+     */
+    public String encode(long value) {
+        char[] chars = new char[LONG_LENGTH];
+        encode(value, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Encodes the specified value as an unsigned number of {@value #LONG_LENGTH} characters.
+     *
+     * @param value a value
+     * @param dst the destination of characters
+     * @param offset the offset of the first character written
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the characters do not fit in {@code dst}
+     */
+    public int encode(long value, char[] dst, int offset) {
+        checkRange(dst.length, offset, LONG_LENGTH);
+        dst[offset] = alphabet[(int) (value >>> 60)];
+        for (int k = 1; k < LONG_LENGTH; k++)
+            dst[offset + k] = alphabet[(int) (value >>> (60 - 5 * k)) & 31];
+        return LONG_LENGTH;
+    }
+
+    /**
+     * Encodes the specified value as an unsigned number of {@value #LONG_LENGTH} ASCII characters.
+     *
+     * @param value a value
+     * @param dst the destination of ASCII characters
+     * @param offset the offset of the first character written
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the characters do not fit in {@code dst}
+     */
+    public int encode(long value, byte[] dst, int offset) {
+        checkRange(dst.length, offset, LONG_LENGTH);
+        dst[offset] = asciiAlphabet[(int) (value >>> 60)];
+        for (int k = 1; k < LONG_LENGTH; k++)
+            dst[offset + k] = asciiAlphabet[(int) (value >>> (60 - 5 * k)) & 31];
+        return LONG_LENGTH;
+    }
+
+    /**
+     * Encodes the 128 bits value made by the specified halves as an unsigned number of {@value #LONG_PAIR_LENGTH} characters.
+     *
+     * @param hi the most significant 64 bits
+     * @param lo the least significant 64 bits
+     * @return the encoded value
+     */
+    public String encode(long hi, long lo) {
+        char[] chars = new char[LONG_PAIR_LENGTH];
+        encode(hi, lo, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * Encodes the 128 bits value made by the specified halves as an unsigned number of {@value #LONG_PAIR_LENGTH} characters.
+     *
+     * @param hi the most significant 64 bits
+     * @param lo the least significant 64 bits
+     * @param dst the destination of characters
+     * @param offset the offset of the first character written
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the characters do not fit in {@code dst}
+     */
+    public int encode(long hi, long lo, char[] dst, int offset) {
+        checkRange(dst.length, offset, LONG_PAIR_LENGTH);
+        // NOTE: 3 bits, then 12 digits of hi, 1 bit of hi and 4 bits of lo, then 12 digits of lo
+        dst[offset] = alphabet[(int) (hi >>> 61)];
+        for (int k = 1; k < 13; k++)
+            dst[offset + k] = alphabet[(int) (hi >>> (61 - 5 * k)) & 31];
+        dst[offset + 13] = alphabet[(int) ((hi & 1) << 4 | lo >>> 60)];
+        for (int k = 14; k < LONG_PAIR_LENGTH; k++)
+            dst[offset + k] = alphabet[(int) (lo >>> (125 - 5 * k)) & 31];
+        return LONG_PAIR_LENGTH;
+    }
+
+    /**
+     * Encodes the 128 bits value made by the specified halves as an unsigned number of {@value #LONG_PAIR_LENGTH} ASCII characters.
+     *
+     * @param hi the most significant 64 bits
+     * @param lo the least significant 64 bits
+     * @param dst the destination of ASCII characters
+     * @param offset the offset of the first character written
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the characters do not fit in {@code dst}
+     */
+    public int encode(long hi, long lo, byte[] dst, int offset) {
+        checkRange(dst.length, offset, LONG_PAIR_LENGTH);
+        dst[offset] = asciiAlphabet[(int) (hi >>> 61)];
+        for (int k = 1; k < 13; k++)
+            dst[offset + k] = asciiAlphabet[(int) (hi >>> (61 - 5 * k)) & 31];
+        dst[offset + 13] = asciiAlphabet[(int) ((hi & 1) << 4 | lo >>> 60)];
+        for (int k = 14; k < LONG_PAIR_LENGTH; k++)
+            dst[offset + k] = asciiAlphabet[(int) (lo >>> (125 - 5 * k)) & 31];
+        return LONG_PAIR_LENGTH;
+    }
+
+    /**
+     * Appends the 128 bits value made by the specified halves as an unsigned number of {@value #LONG_PAIR_LENGTH} characters.
+     *
+     * @param hi the most significant 64 bits
+     * @param lo the least significant 64 bits
+     * @param dst the destination of characters
+     * @return the specified destination
+     */
+    public StringBuilder encode(long hi, long lo, StringBuilder dst) {
+        dst.append(alphabet[(int) (hi >>> 61)]);
+        for (int k = 1; k < 13; k++)
+            dst.append(alphabet[(int) (hi >>> (61 - 5 * k)) & 31]);
+        dst.append(alphabet[(int) ((hi & 1) << 4 | lo >>> 60)]);
+        for (int k = 14; k < LONG_PAIR_LENGTH; k++)
+            dst.append(alphabet[(int) (lo >>> (125 - 5 * k)) & 31]);
+        return dst;
+    }
+
+    public String encode(UUID uuid) {
+        return encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    /**
+     * Decodes a {@code long} encoded by {@link #encode(long)}.
+     *
+     * @param text a text of {@value #LONG_LENGTH} characters
+     * @return the value decoded
+     * @throws IllegalArgumentException if the text is not valid
+     */
+    public long decodeLong(CharSequence text) {
+        checkLength(text, LONG_LENGTH);
+        return decodeLong(text, 0);
+    }
+
+    /**
+     * Decodes a {@code long} encoded by {@link #encode(long)} from the {@value #LONG_LENGTH} characters starting at the specified offset.
+     *
+     * @param text a text
+     * @param offset the offset of the first character
+     * @return the value decoded
+     * @throws IllegalArgumentException if the characters are not valid
+     * @throws IndexOutOfBoundsException if the characters are out of the text
+     */
+    public long decodeLong(CharSequence text, int offset) {
+        checkRange(text.length(), offset, LONG_LENGTH);
+        long value = first(digit(text.charAt(offset), offset), 15);
+        for (int k = 1; k < LONG_LENGTH; k++)
+            value = value << 5 | digit(text.charAt(offset + k), offset + k);
+        return value;
+    }
+
+    /**
+     * Decodes a {@code long} encoded by {@link #encode(long, byte[], int)} from the {@value #LONG_LENGTH} ASCII characters starting at the specified offset.
+     *
+     * @param src ASCII characters
+     * @param offset the offset of the first character
+     * @return the value decoded
+     * @throws IllegalArgumentException if the characters are not valid
+     * @throws IndexOutOfBoundsException if the characters are out of {@code src}
+     */
+    public long decodeLong(byte[] src, int offset) {
+        checkRange(src.length, offset, LONG_LENGTH);
+        long value = first(digit(src[offset] & 0xff, offset), 15);
+        for (int k = 1; k < LONG_LENGTH; k++)
+            value = value << 5 | digit(src[offset + k] & 0xff, offset + k);
+        return value;
+    }
+
+    /**
+     * Decodes the most significant 64 bits of a value encoded by {@link #encode(long, long)} from the
+     * {@value #LONG_PAIR_LENGTH} characters starting at the specified offset.
+     *
+     * <p>
+     * Only the characters holding the most significant 64 bits are read (and validated).
+     * </p>
+     *
+     * @param text a text
+     * @param offset the offset of the first character
+     * @return the most significant 64 bits
+     * @throws IllegalArgumentException if the characters are not valid
+     * @throws IndexOutOfBoundsException if the characters are out of the text
+     */
+    public long decodeHigh(CharSequence text, int offset) {
+        checkRange(text.length(), offset, LONG_PAIR_LENGTH);
+        long value = first(digit(text.charAt(offset), offset), 7);
+        for (int k = 1; k < 13; k++)
+            value = value << 5 | digit(text.charAt(offset + k), offset + k);
+        return value << 1 | digit(text.charAt(offset + 13), offset + 13) >>> 4;
+    }
+
+    /**
+     * Decodes the least significant 64 bits of a value encoded by {@link #encode(long, long)} from the
+     * {@value #LONG_PAIR_LENGTH} characters starting at the specified offset.
+     *
+     * <p>
+     * Only the characters holding the least significant 64 bits are read (and validated).
+     * </p>
+     *
+     * @param text a text
+     * @param offset the offset of the first character
+     * @return the least significant 64 bits
+     * @throws IllegalArgumentException if the characters are not valid
+     * @throws IndexOutOfBoundsException if the characters are out of the text
+     */
+    public long decodeLow(CharSequence text, int offset) {
+        checkRange(text.length(), offset, LONG_PAIR_LENGTH);
+        long value = digit(text.charAt(offset + 13), offset + 13) & 15;
+        for (int k = 14; k < LONG_PAIR_LENGTH; k++)
+            value = value << 5 | digit(text.charAt(offset + k), offset + k);
+        return value;
+    }
+
+    /**
+     * Decodes the most significant 64 bits of a value encoded by {@link #encode(long, long, byte[], int)}.
+     *
+     * @param src ASCII characters
+     * @param offset the offset of the first character
+     * @return the most significant 64 bits
+     * @throws IllegalArgumentException if the characters are not valid
+     * @throws IndexOutOfBoundsException if the characters are out of {@code src}
+     * @see #decodeHigh(CharSequence, int)
+     */
+    public long decodeHigh(byte[] src, int offset) {
+        checkRange(src.length, offset, LONG_PAIR_LENGTH);
+        long value = first(digit(src[offset] & 0xff, offset), 7);
+        for (int k = 1; k < 13; k++)
+            value = value << 5 | digit(src[offset + k] & 0xff, offset + k);
+        return value << 1 | digit(src[offset + 13] & 0xff, offset + 13) >>> 4;
+    }
+
+    /**
+     * Decodes the least significant 64 bits of a value encoded by {@link #encode(long, long, byte[], int)}.
+     *
+     * @param src ASCII characters
+     * @param offset the offset of the first character
+     * @return the least significant 64 bits
+     * @throws IllegalArgumentException if the characters are not valid
+     * @throws IndexOutOfBoundsException if the characters are out of {@code src}
+     * @see #decodeLow(CharSequence, int)
+     */
+    public long decodeLow(byte[] src, int offset) {
+        checkRange(src.length, offset, LONG_PAIR_LENGTH);
+        long value = digit(src[offset + 13] & 0xff, offset + 13) & 15;
+        for (int k = 14; k < LONG_PAIR_LENGTH; k++)
+            value = value << 5 | digit(src[offset + k] & 0xff, offset + k);
+        return value;
+    }
+
+    /**
+     * Decodes a {@code UUID} encoded by {@link #encode(UUID)}.
+     *
+     * @param text a text of {@value #LONG_PAIR_LENGTH} characters
+     * @return the UUID decoded
+     * @throws IllegalArgumentException if the text is not valid
+     */
+    public UUID decodeUUID(CharSequence text) {
+        checkLength(text, LONG_PAIR_LENGTH);
+        return new UUID(decodeHigh(text, 0), decodeLow(text, 0));
+    }
+
+    private void alias(char alias, char c) {
+        if (alias < 128 && c < 128 && digits[alias] < 0 && digits[c] >= 0)
+            digits[alias] = digits[c];
+    }
+
+    /**
+     * Returns the bits of the specified bytes aligned to the top of 40 bits.
+     */
+    private static long bits(byte[] src, int offset, int n) {
+        if (n == 5)
+            return (src[offset] & 0xffL) << 32 | (src[offset + 1] & 0xffL) << 24 | (src[offset + 2] & 0xffL) << 16 | (src[offset + 3] & 0xffL) << 8 | (src[offset + 4] & 0xffL);
+
+        long bits = 0;
+        for (int k = 0; k < 5; k++)
+            bits = bits << 8 | (k < n ? src[offset + k] & 0xff : 0);
+        return bits;
+    }
+
+    private int digit(int c, int position) {
+        int digit = c < 128 ? digits[c] : -1;
+        if (digit < 0)
+            throw new IllegalArgumentException("invalid character '" + (char) c + "' at position " + position);
+        return digit;
+    }
+
+    /**
+     * Writes the bytes of the specified bits decoded from {@code chars} characters and returns the next offset.
+     */
+    private int write(long bits, int chars, byte[] dst, int offset) {
+        int bytes = chars * 5 / 8;
+        bits = trailingBitsRemoved(bits, chars, bytes);
+        for (int k = bytes - 1; k >= 0; k--) {
+            dst[offset + k] = (byte) bits;
+            bits >>>= 8;
+        }
+        return offset + bytes;
+    }
+
+    private long trailingBitsRemoved(long bits, int chars, int bytes) {
+        int unused = chars * 5 - bytes * 8;
+        if (! lenient && (bits & ((1L << unused) - 1)) != 0)
+            throw new IllegalArgumentException("last character has non-zero trailing bits");
+        return bits >>> unused;
+    }
+
+    /**
+     * Returns the specified first digit of a fixed-width value, checking it does not overflow the value.
+     */
+    private static long first(int digit, int max) {
+        if (digit > max)
+            throw new IllegalArgumentException("value out of range (first character is worth " + digit + ", maximum is " + max + ")");
+        return digit;
+    }
+
+    private static void checkLength(CharSequence text, int length) {
+        if (text.length() != length)
+            throw new IllegalArgumentException("text must have " + length + " characters (found '" + text + "')");
+    }
+
+    private int checkedDecodedLength(int length) {
+        int rest = length % 8;
+        if (rest == 1 || rest == 3 || rest == 6)
+            throw new IllegalArgumentException("invalid length of Base32 text (found " + length + ")");
+        return decodedLength(length);
+    }
+
+    private static void checkThreshold(int threshold) {
+        if (threshold < 5)
+            throw new IllegalArgumentException("'threshold' must be at least 5 (found " + threshold + ")");
+    }
+
+    private static void checkRange(int arrayLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length)
+            throw new IndexOutOfBoundsException("range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + arrayLength);
+    }
+
+    /**
+     * Encodes a chunk of bytes, splitting it in two halves (on a group boundary) while it is above the threshold.
+     */
+    private final class EncodeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[] src;
+        private final int offset;
+        private final int length;
+        private final char[] chars;
+        private final byte[] ascii;
+        private final int dstOffset;
+        private final int threshold;
+
+        private EncodeTask(byte[] src, int offset, int length, char[] chars, byte[] ascii, int dstOffset, int threshold) {
+            this.src = src;
+            this.offset = offset;
+            this.length = length;
+            this.chars = chars;
+            this.ascii = ascii;
+            this.dstOffset = dstOffset;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            int half = length / 2 / 5 * 5;
+            if (length <= threshold || half == 0) {
+                if (chars != null)
+                    encode(src, offset, length, chars, dstOffset);
+                else
+                    encode(src, offset, length, ascii, dstOffset);
+                return;
             }
-            // /// STEP n = 2: insert 3 new bits, then 5 bits, leave 0 bit
-            currByte = data[i++] & 255;
-            base32.append(alphabet[(digit | (currByte >> 5))]);
-            base32.append(alphabet[(currByte & 31)]);
-            // // This point is reached for bytes.length multiple of 5
+            invokeAll(new EncodeTask(src, offset, half, chars, ascii, dstOffset, threshold),
+                    new EncodeTask(src, offset + half, length - half, chars, ascii, dstOffset + half / 5 * 8, threshold));
         }
-        return base32.toString();
+
     }
+
 }
@@ -0,0 +1,141 @@
+package themissingobjects.encoding;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Represents an {@code InputStream} decoding the {@link Base32} text (as ASCII characters) read from the
+ * underlying stream.
+ *
+ * <p>
+ * Characters are read in a buffer of fixed size and decoded in groups of 8 characters, so the memory used does not
+ * depend on the size of the payload. Invalid text is reported by an {@code IOException} caused by the
+ * {@code IllegalArgumentException} of the decoder.
+ * </p>
+ * <p>
+ * Mark and reset are not supported. This class is not thread safe.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ * @see Base32OutputStream
+ */
+public class Base32InputStream extends FilterInputStream {
+
+    static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+    private final Base32 base32;
+    private final byte[] input;
+    private final byte[] output;
+    private int size;
+    private int position;
+    private int limit;
+    private boolean eof;
+
+    public Base32InputStream(InputStream in, Base32 base32) {
+        this(in, base32, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a stream decoding with the specified {@code Base32}.
+     *
+     * @param in the underlying stream
+     * @param base32 the decoder
+     * @param bufferSize the number of characters read before decoding them (rounded down to a multiple of 8)
+     * @throws IllegalArgumentException if the buffer size is less than 8
+     */
+    public Base32InputStream(InputStream in, Base32 base32, int bufferSize) {
+        super(in);
+        if (bufferSize < 8)
+            throw new IllegalArgumentException("'bufferSize' must be at least 8 (found " + bufferSize + ")");
+        this.base32 = base32;
+        this.input = new byte[bufferSize / 8 * 8];
+        this.output = new byte[base32.decodedLength(input.length)];
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position == limit && ! fill())
+            return -1;
+        return output[position++] & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (off < 0 || len < 0 || off > b.length - len)
+            throw new IndexOutOfBoundsException();
+        if (len == 0)
+            return 0;
+        if (position == limit && ! fill())
+            return -1;
+        int n = Math.min(len, limit - position);
+        System.arraycopy(output, position, b, off, n);
+        position += n;
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n && (position < limit || fill())) {
+            int step = (int) Math.min(n - skipped, limit - position);
+            position += step;
+            skipped += step;
+        }
+        return skipped;
+    }
+
+    @Override
+    public int available() {
+        return limit - position;
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    @Override
+    public synchronized void mark(int readlimit) { }
+
+    @Override
+    public synchronized void reset() throws IOException {
+        throw new IOException("mark/reset not supported");
+    }
+
+    /**
+     * Decodes the next characters of the underlying stream and returns {@code false} if there are no more bytes.
+     */
+    private boolean fill() throws IOException {
+        while (! eof) {
+            int n = in.read(input, size, input.length - size);
+            if (n < 0) {
+                eof = true;
+                break;
+            }
+            size += n;
+            int groups = size / 8 * 8;
+            if (groups > 0) {
+                decode(groups);
+                return true;
+            }
+        }
+        if (size == 0)
+            return false;
+        decode(size);
+        return limit > 0;
+    }
+
+    private void decode(int length) throws IOException {
+        try {
+            limit = base32.decode(input, 0, length, output, 0);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("invalid Base32 text", e);
+        }
+        position = 0;
+        System.arraycopy(input, length, input, 0, size - length);
+        size -= length;
+    }
+
+}
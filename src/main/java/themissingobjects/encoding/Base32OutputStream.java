@@ -0,0 +1,121 @@
+package themissingobjects.encoding;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Represents an {@code OutputStream} encoding in {@link Base32} the bytes written, before passing them (as ASCII
+ * characters) to the underlying stream.
+ *
+ * <p>
+ * Bytes are collected in a buffer of fixed size and encoded in groups of 5 bytes, so the memory used does not
+ * depend on the size of the payload. {@link #flush()} encodes only the complete groups: the last (partial) group is
+ * encoded by {@link #close()}, which must be invoked to complete the text.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ * @see Base32InputStream
+ */
+public class Base32OutputStream extends FilterOutputStream {
+
+    static final int DEFAULT_BUFFER_SIZE = 5 * 1024;
+
+    private final Base32 base32;
+    private final byte[] input;
+    private final byte[] output;
+    private int size;
+    private boolean closed;
+
+    public Base32OutputStream(OutputStream out, Base32 base32) {
+        this(out, base32, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a stream encoding with the specified {@code Base32}.
+     *
+     * @param out the underlying stream
+     * @param base32 the encoder
+     * @param bufferSize the number of bytes collected before encoding them (rounded down to a multiple of 5)
+     * @throws IllegalArgumentException if the buffer size is less than 5
+     */
+    public Base32OutputStream(OutputStream out, Base32 base32, int bufferSize) {
+        super(out);
+        if (bufferSize < 5)
+            throw new IllegalArgumentException("'bufferSize' must be at least 5 (found " + bufferSize + ")");
+        this.base32 = base32;
+        this.input = new byte[bufferSize / 5 * 5];
+        this.output = new byte[base32.encodedLength(input.length)];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        ensureOpen();
+        if (size == input.length)
+            encodeGroups();
+        input[size++] = (byte) b;
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        ensureOpen();
+        if (off < 0 || len < 0 || off > b.length - len)
+            throw new IndexOutOfBoundsException();
+        while (len > 0) {
+            if (size == input.length)
+                encodeGroups();
+            int n = Math.min(len, input.length - size);
+            System.arraycopy(b, off, input, size, n);
+            size += n;
+            off += n;
+            len -= n;
+        }
+    }
+
+    /**
+     * Encodes the complete groups of 5 bytes collected and flushes the underlying stream.
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        encodeGroups();
+        out.flush();
+    }
+
+    /**
+     * Encodes all the bytes collected and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            if (size > 0)
+                out.write(output, 0, base32.encode(input, 0, size, output, 0));
+            size = 0;
+            out.flush();
+        } finally {
+            out.close();
+        }
+    }
+
+    private void encodeGroups() throws IOException {
+        int groups = size / 5 * 5;
+        if (groups == 0)
+            return;
+        out.write(output, 0, base32.encode(input, 0, groups, output, 0));
+        System.arraycopy(input, groups, input, 0, size - groups);
+        size -= groups;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed)
+            throw new IOException("stream closed");
+    }
+
+}
@@ -0,0 +1,120 @@
+package themissingobjects.encoding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Represents a {@code ReadableByteChannel} decoding the {@link Base32} text (as ASCII characters) read from the
+ * underlying channel.
+ *
+ * <p>
+ * As {@link Base32InputStream}, characters are read in a buffer of fixed size and decoded in groups of 8 characters.
+ * Invalid text is reported by an {@code IOException} caused by the {@code IllegalArgumentException} of the decoder.
+ * The underlying channel must be in blocking mode.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ * @see Base32WritableByteChannel
+ */
+public class Base32ReadableByteChannel implements ReadableByteChannel {
+
+    private final ReadableByteChannel channel;
+    private final Base32 base32;
+    private final ByteBuffer input;
+    private final ByteBuffer output;
+    private boolean eof;
+    private boolean closed;
+
+    public Base32ReadableByteChannel(ReadableByteChannel channel, Base32 base32) {
+        this(channel, base32, Base32InputStream.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a channel decoding with the specified {@code Base32}.
+     *
+     * @param channel the underlying channel
+     * @param base32 the decoder
+     * @param bufferSize the number of characters read before decoding them (rounded down to a multiple of 8)
+     * @throws IllegalArgumentException if the buffer size is less than 8
+     */
+    public Base32ReadableByteChannel(ReadableByteChannel channel, Base32 base32, int bufferSize) {
+        if (bufferSize < 8)
+            throw new IllegalArgumentException("'bufferSize' must be at least 8 (found " + bufferSize + ")");
+        this.channel = channel;
+        this.base32 = base32;
+        this.input = ByteBuffer.allocate(bufferSize / 8 * 8);
+        this.output = ByteBuffer.allocate(base32.decodedLength(input.capacity()));
+        output.flip();
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        if (closed)
+            throw new ClosedChannelException();
+        if (! dst.hasRemaining())
+            return 0;
+        if (! output.hasRemaining() && ! fill())
+            return -1;
+
+        int n = Math.min(dst.remaining(), output.remaining());
+        int limit = output.limit();
+        output.limit(output.position() + n);
+        dst.put(output);
+        output.limit(limit);
+        return n;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return ! closed;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    /**
+     * Decodes the next characters of the underlying channel and returns {@code false} if there are no more bytes.
+     */
+    private boolean fill() throws IOException {
+        while (! eof) {
+            if (channel.read(input) < 0) {
+                eof = true;
+                break;
+            }
+            int groups = input.position() / 8 * 8;
+            if (groups > 0) {
+                decode(groups);
+                return true;
+            }
+        }
+        if (input.position() == 0)
+            return false;
+        decode(input.position());
+        return output.hasRemaining();
+    }
+
+    private void decode(int length) throws IOException {
+        input.flip();
+        int limit = input.limit();
+        input.limit(length);
+        output.clear();
+        try {
+            base32.decode(input, output);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("invalid Base32 text", e);
+        }
+        output.flip();
+        input.limit(limit);
+        input.compact();
+    }
+
+}
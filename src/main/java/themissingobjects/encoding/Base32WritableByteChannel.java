@@ -0,0 +1,110 @@
+package themissingobjects.encoding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Represents a {@code WritableByteChannel} encoding in {@link Base32} the bytes written, before passing them (as ASCII
+ * characters) to the underlying channel.
+ *
+ * <p>
+ * As {@link Base32OutputStream}, bytes are collected in a buffer of fixed size and encoded in groups of 5 bytes: the
+ * last (partial) group is encoded by {@link #close()}, which must be invoked to complete the text.
+ * The underlying channel must be in blocking mode.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ * @see Base32ReadableByteChannel
+ */
+public class Base32WritableByteChannel implements WritableByteChannel {
+
+    private final WritableByteChannel channel;
+    private final Base32 base32;
+    private final ByteBuffer input;
+    private final ByteBuffer output;
+    private boolean closed;
+
+    public Base32WritableByteChannel(WritableByteChannel channel, Base32 base32) {
+        this(channel, base32, Base32OutputStream.DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates a channel encoding with the specified {@code Base32}.
+     *
+     * @param channel the underlying channel
+     * @param base32 the encoder
+     * @param bufferSize the number of bytes collected before encoding them (rounded down to a multiple of 5)
+     * @throws IllegalArgumentException if the buffer size is less than 5
+     */
+    public Base32WritableByteChannel(WritableByteChannel channel, Base32 base32, int bufferSize) {
+        if (bufferSize < 5)
+            throw new IllegalArgumentException("'bufferSize' must be at least 5 (found " + bufferSize + ")");
+        this.channel = channel;
+        this.base32 = base32;
+        this.input = ByteBuffer.allocate(bufferSize / 5 * 5);
+        this.output = ByteBuffer.allocate(base32.encodedLength(input.capacity()));
+    }
+
+    @Override
+    public int write(ByteBuffer src) throws IOException {
+        if (closed)
+            throw new ClosedChannelException();
+
+        int written = src.remaining();
+        while (src.hasRemaining()) {
+            if (! input.hasRemaining())
+                encode(input.position());
+            int limit = src.limit();
+            src.limit(src.position() + Math.min(src.remaining(), input.remaining()));
+            input.put(src);
+            src.limit(limit);
+        }
+        return written;
+    }
+
+    @Override
+    public boolean isOpen() {
+        return ! closed;
+    }
+
+    /**
+     * Encodes all the bytes collected and closes the underlying channel.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        closed = true;
+        try {
+            encode(input.position());
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Encodes the specified number of bytes collected and writes them to the underlying channel.
+     */
+    private void encode(int length) throws IOException {
+        if (length == 0)
+            return;
+        input.flip();
+        int limit = input.limit();
+        input.limit(length);
+        output.clear();
+        base32.encode(input, output);
+        input.limit(limit);
+        input.compact();
+
+        output.flip();
+        while (output.hasRemaining())
+            channel.write(output);
+    }
+
+}
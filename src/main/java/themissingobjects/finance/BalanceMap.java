@@ -0,0 +1,292 @@
+package themissingobjects.finance;
+
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.Objects;
+
+/**
+ * Represents the balances of many accounts, in minor units of every {@link Currency} (e.g. cents of EUR).
+ *
+ * <p>
+ * Unlike a {@code Map<Long, Money>}, balances are kept in an open-addressing hash table made of primitive arrays
+ * (account id, currency index and balance of every entry): adding a posting updates the balance in place without
+ * boxing the account id or creating a {@link Money}. A balance takes 20 bytes per slot, from 27 to 53 bytes depending
+ * on the load of the table, while an entry of a {@code HashMap} takes about 80 bytes with its {@code Long} and
+ * {@code Money}. {@code Money}s are created only when a balance is read (see {@link #get(long, Currency)}).
+ * </p>
+ * <p>
+ * Balances are added exactly as {@link Money#plus(Money)} does. An account having no posting in a currency has
+ * a zero balance in that currency.
+ * </p>
+ * <p>
+ * This class is not thread safe: parallel workers can aggregate postings in their own maps and then merge them
+ * (see {@link #merge(BalanceMap)}), for example collecting a parallel stream:
+ * </p>
+ * <code>
+ *     BalanceMap balances = postings.parallelStream()<br>
+ *     &nbsp;&nbsp;&nbsp;&nbsp;.collect(BalanceMap::create, (m, p) -&gt; m.add(p.account(), p.amount()), BalanceMap::merge);<br>
+ * </code>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public class BalanceMap {
+
+    private static final int DEFAULT_EXPECTED_SIZE = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private Currency[] currencies = new Currency[4];
+    private int currencyCount;
+
+    // NOTE: slot i is empty when currencyKeys[i] is 0, otherwise it holds the index of the currency plus 1
+    private long[] accounts;
+    private int[] currencyKeys;
+    private long[] balances;
+    private int mask;
+    private int size;
+    private int threshold;
+
+    private BalanceMap(int expectedSize) {
+        if (expectedSize < 0)
+            throw new IllegalArgumentException("'expectedSize' must not be negative (found " + expectedSize + ")");
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Returns an empty map.
+     * @return an empty map
+     */
+    public static BalanceMap create() {
+        return new BalanceMap(DEFAULT_EXPECTED_SIZE);
+    }
+
+    /**
+     * Returns an empty map able to hold the specified number of balances without growing.
+     *
+     * @param expectedSize the number of balances (pairs of account and currency) expected
+     * @return an empty map
+     */
+    public static BalanceMap of(int expectedSize) {
+        return new BalanceMap(expectedSize);
+    }
+
+    /**
+     * Adds the specified money to the balance of the specified account in the currency of the money.
+     *
+     * @param account the id of an account
+     * @param money a money (negative to subtract it)
+     */
+    public void add(long account, Money money) {
+        add(account, money.currency(), money.value());
+    }
+
+    /**
+     * Adds the specified minor units to the balance of the specified account in the specified currency.
+     *
+     * @param account the id of an account
+     * @param currency a currency
+     * @param minorUnits an amount expressed with all the fraction digits of the currency (e.g. 123 for EUR 1.23)
+     */
+    public void add(long account, Currency currency, long minorUnits) {
+        addByKey(account, keyOf(currency), minorUnits);
+    }
+
+    /**
+     * Returns the balance of the specified account in the specified currency.
+     *
+     * @param account the id of an account
+     * @param currency a currency
+     * @return the balance of the account ({@code 0} if the account has no posting in the currency)
+     */
+    public Money get(long account, Currency currency) {
+        return new Money(minorUnits(account, currency), currency);
+    }
+
+    /**
+     * Returns the balance of the specified account in the specified currency, in minor units.
+     *
+     * @param account the id of an account
+     * @param currency a currency
+     * @return the balance of the account in minor units ({@code 0} if the account has no posting in the currency)
+     */
+    public long minorUnits(long account, Currency currency) {
+        int key = existingKeyOf(currency);
+        if (key == 0)
+            return 0;
+        int slot = slotOf(account, key);
+        return currencyKeys[slot] == 0 ? 0 : balances[slot];
+    }
+
+    /**
+     * Returns {@code true} if the specified account has a balance in the specified currency.
+     *
+     * @param account the id of an account
+     * @param currency a currency
+     * @return {@code true} if the account has a posting in the currency, otherwise {@code false}
+     */
+    public boolean contains(long account, Currency currency) {
+        int key = existingKeyOf(currency);
+        return key != 0 && currencyKeys[slotOf(account, key)] != 0;
+    }
+
+    /**
+     * Returns the number of balances (pairs of account and currency) of this map.
+     * @return the number of balances
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Passes every balance of this map to the specified consumer, in no particular order.
+     *
+     * @param consumer a consumer of balances
+     */
+    public void forEach(BalanceConsumer consumer) {
+        for (int i = 0; i < currencyKeys.length; i++) {
+            int key = currencyKeys[i];
+            if (key != 0)
+                consumer.accept(accounts[i], currencies[key - 1], balances[i]);
+        }
+    }
+
+    /**
+     * Adds all the balances of the specified map to the ones of this map.
+     *
+     * @param that another map (left unchanged)
+     */
+    public void merge(BalanceMap that) {
+        // NOTE: currencies are indexed in order of appearance, so the indexes of the two maps can differ
+        int[] keys = new int[that.currencyCount];
+        for (int i = 0; i < keys.length; i++)
+            keys[i] = keyOf(that.currencies[i]);
+
+        for (int i = 0; i < that.currencyKeys.length; i++) {
+            int key = that.currencyKeys[i];
+            if (key != 0)
+                addByKey(that.accounts[i], keys[key - 1], that.balances[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("{");
+        forEach((account, currency, minorUnits) -> {
+            if (sb.length() > 1)
+                sb.append(", ");
+            sb.append(account).append('=').append(new Money(minorUnits, currency));
+        });
+        return sb.append('}').toString();
+    }
+
+    private void addByKey(long account, int key, long minorUnits) {
+        int slot = slotOf(account, key);
+        if (currencyKeys[slot] != 0) {
+            balances[slot] += minorUnits;
+            return;
+        }
+
+        accounts[slot] = account;
+        currencyKeys[slot] = key;
+        balances[slot] = minorUnits;
+        if (++size > threshold)
+            grow();
+    }
+
+    /**
+     * Returns the slot holding the specified account and currency or, if there is none, the empty slot where they
+     * have to be added.
+     */
+    private int slotOf(long account, int key) {
+        int slot = hash(account, key) & mask;
+        while (true) {
+            int k = currencyKeys[slot];
+            if (k == 0 || (k == key && accounts[slot] == account))
+                return slot;
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    private static int hash(long account, int key) {
+        // NOTE: account ids are often consecutive, so bits are mixed to spread them on the whole table
+        long h = (account ^ ((long) key << 48)) * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    /**
+     * Returns the key of the specified currency, adding it to the known currencies if needed.
+     */
+    private int keyOf(Currency currency) {
+        int key = existingKeyOf(Objects.requireNonNull(currency));
+        if (key != 0)
+            return key;
+
+        if (currencyCount == currencies.length)
+            currencies = Arrays.copyOf(currencies, currencyCount * 2);
+        currencies[currencyCount++] = currency;
+        return currencyCount;
+    }
+
+    private int existingKeyOf(Currency currency) {
+        // NOTE: a book has few currencies and Currency instances are unique, so a linear scan is faster than a map
+        for (int i = 0; i < currencyCount; i++)
+            if (currencies[i] == currency)
+                return i + 1;
+        return 0;
+    }
+
+    private void grow() {
+        if (currencyKeys.length == MAX_CAPACITY)
+            throw new IllegalStateException("map cannot hold more than " + threshold + " balances");
+
+        long[] oldAccounts = accounts;
+        int[] oldKeys = currencyKeys;
+        long[] oldBalances = balances;
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slotOf(oldAccounts[i], oldKeys[i]);
+                accounts[slot] = oldAccounts[i];
+                currencyKeys[slot] = oldKeys[i];
+                balances[slot] = oldBalances[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        accounts = new long[capacity];
+        currencyKeys = new int[capacity];
+        balances = new long[capacity];
+        mask = capacity - 1;
+        threshold = capacity / 4 * 3;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = Math.max(2, (long) expectedSize * 4 / 3 + 1);
+        if (needed > MAX_CAPACITY)
+            return MAX_CAPACITY;
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    /**
+     * Represents a consumer of the balances of a {@link BalanceMap}.
+     */
+    @FunctionalInterface
+    public interface BalanceConsumer {
+
+        /**
+         * Accepts a balance.
+         *
+         * @param account the id of the account
+         * @param currency the currency of the balance
+         * @param minorUnits the balance in minor units of the currency
+         */
+        void accept(long account, Currency currency, long minorUnits);
+
+    }
+
+}
@@ -0,0 +1,245 @@
+package themissingobjects.finance;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.*;
+import java.util.function.Consumer;
+
+/**
+ * Represents a dispatcher of {@link ExchangeRate}s keeping only the newest rate of every {@link CurrencyPair}.
+ *
+ * <p>
+ * When producers publish rates faster than consumers can process them, a plain queue would grow with stale rates.
+ * This dispatcher instead replaces the pending rate of a pair with the newest one (a <i>conflation</i>), so the
+ * amount of pending work is bounded by the number of pairs and consumers always see the most recent rate.
+ * </p>
+ * <p>
+ * Pairs having a pending rate are kept in a lock-free ring that consumers can drain in batches.
+ * A pair is in the ring at most once, so the ring capacity is the maximum number of pairs specified at creation time.
+ * </p>
+ * <p>
+ * This class is thread safe: any number of threads can publish and drain concurrently.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public class ConflatingExchangeRateDispatcher {
+
+    private final int maxPairs;
+    private final ConcurrentHashMap<CurrencyPair, Slot> slots = new ConcurrentHashMap<>();
+    private final AtomicInteger registered = new AtomicInteger();
+
+    private final AtomicReferenceArray<Slot> ring;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder conflated = new LongAdder();
+    private final LongAdder delivered = new LongAdder();
+    private final AtomicLong maxLagNanos = new AtomicLong();
+
+    private ConflatingExchangeRateDispatcher(int maxPairs) {
+        if (maxPairs <= 0 || maxPairs > (1 << 30))
+            throw new IllegalArgumentException("'maxPairs' must be between 1 and 2^30 (found " + maxPairs + ")");
+
+        int capacity = Integer.highestOneBit(maxPairs);
+        if (capacity < maxPairs)
+            capacity <<= 1;
+
+        this.maxPairs = maxPairs;
+        this.ring = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        this.mask = capacity - 1;
+        for (int i = 0; i < capacity; i++)
+            sequences.set(i, i);
+    }
+
+    /**
+     * Returns a dispatcher able to handle up to the specified number of currency pairs.
+     *
+     * @param maxPairs the maximum number of currency pairs
+     * @return a dispatcher
+     */
+    public static ConflatingExchangeRateDispatcher of(int maxPairs) {
+        return new ConflatingExchangeRateDispatcher(maxPairs);
+    }
+
+    /**
+     * Publishes the specified rate.
+     *
+     * <p>
+     * If a rate of the same pair is still pending, the newest between the two (according to their timestamps) is kept
+     * and the other one is counted as conflated.
+     * </p>
+     *
+     * @param rate an exchange rate
+     * @throws IllegalStateException if the rate is related to a new pair and the maximum number of pairs has been reached
+     */
+    public void publish(ExchangeRate rate) {
+        Objects.requireNonNull(rate);
+        published.increment();
+
+        Slot slot = slots.computeIfAbsent(rate.currencyPair(), this::newSlot);
+        while (true) {
+            ExchangeRate pending = slot.pending.get();
+            if (pending != null && rate.timestamp().isBefore(pending.timestamp())) {
+                conflated.increment();
+                return;
+            }
+            if (slot.pending.compareAndSet(pending, rate)) {
+                if (pending != null)
+                    conflated.increment();
+                break;
+            }
+        }
+
+        if (slot.dirty.compareAndSet(false, true)) {
+            slot.dirtySince = System.nanoTime();
+            if (! offer(slot))
+                throw new IllegalStateException("dirty pairs ring is full (this should never happen)");
+        }
+    }
+
+    /**
+     * Passes to the specified consumer the pending rate of every pair.
+     *
+     * @param consumer a consumer of rates
+     * @return the number of rates passed to the consumer
+     */
+    public int drain(Consumer<ExchangeRate> consumer) {
+        return drain(consumer, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Passes to the specified consumer the pending rates of at most {@code maxBatch} pairs.
+     *
+     * <p>
+     * A rate is removed from this dispatcher before being passed to the consumer, so it is lost if the consumer fails.
+     * </p>
+     *
+     * @param consumer a consumer of rates
+     * @param maxBatch the maximum number of rates to pass to the consumer
+     * @return the number of rates passed to the consumer
+     */
+    public int drain(Consumer<ExchangeRate> consumer, int maxBatch) {
+        int count = 0;
+        while (count < maxBatch) {
+            Slot slot = poll();
+            if (slot == null)
+                break;
+
+            long lag = System.nanoTime() - slot.dirtySince;
+            slot.dirty.set(false);
+            ExchangeRate rate = slot.pending.getAndSet(null);
+            if (rate == null)
+                continue;
+
+            maxLagNanos.accumulateAndGet(lag, Math::max);
+            delivered.increment();
+            count++;
+            consumer.accept(rate);
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of rates published.
+     * @return the number of rates published
+     */
+    public long publishedCount() {
+        return published.sum();
+    }
+
+    /**
+     * Returns the number of rates replaced by a newer one before being delivered.
+     * @return the number of rates conflated
+     */
+    public long conflatedCount() {
+        return conflated.sum();
+    }
+
+    /**
+     * Returns the number of rates passed to consumers.
+     * @return the number of rates delivered
+     */
+    public long deliveredCount() {
+        return delivered.sum();
+    }
+
+    /**
+     * Returns the number of pairs having a pending rate.
+     * @return the number of pairs having a pending rate
+     */
+    public int pendingCount() {
+        return (int) Math.max(0, enqueuePosition.get() - dequeuePosition.get());
+    }
+
+    /**
+     * Returns the maximum time (in nanoseconds) a pair has waited between becoming pending and being drained.
+     * @return the maximum consumer lag in nanoseconds
+     */
+    public long maxLagNanos() {
+        return maxLagNanos.get();
+    }
+
+    private Slot newSlot(CurrencyPair pair) {
+        if (registered.incrementAndGet() > maxPairs) {
+            registered.decrementAndGet();
+            throw new IllegalStateException("too many currency pairs (max is " + maxPairs + ", found a new one " + pair + ")");
+        }
+        return new Slot();
+    }
+
+    private boolean offer(Slot slot) {
+        long position = enqueuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - position;
+            if (difference == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    ring.set(index, slot);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = enqueuePosition.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+    private Slot poll() {
+        long position = dequeuePosition.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    Slot slot = ring.get(index);
+                    ring.set(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return slot;
+                }
+                position = dequeuePosition.get();
+            } else if (difference < 0) {
+                return null;
+            } else {
+                position = dequeuePosition.get();
+            }
+        }
+    }
+
+    private static final class Slot {
+
+        private final AtomicReference<ExchangeRate> pending = new AtomicReference<>();
+        private final AtomicBoolean dirty = new AtomicBoolean();
+        private volatile long dirtySince;
+
+    }
+
+}
@@ -69,6 +69,10 @@ public class ExchangeRate implements Comparable<ExchangeRate>, Serializable {
         return timestamp;
     }
 
+    long epochNanos() {
+        return Math.addExact(Math.multiplyExact(timestamp.toEpochSecond(), 1_000_000_000L), timestamp.getNano());
+    }
+
     @Override
     public int compareTo(ExchangeRate o) {
         int cpair = currencyPair.compareTo(o.currencyPair);
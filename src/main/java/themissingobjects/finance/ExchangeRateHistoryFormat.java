@@ -0,0 +1,74 @@
+package themissingobjects.finance;
+
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+
+/**
+ * Contains the constants and the encoding primitives shared by {@link ExchangeRateHistoryWriter} and {@link ExchangeRateHistoryReader}.
+ *
+ * <p>
+ * A history file is made by a header followed by a sequence of blocks:
+ * </p>
+ * <pre>
+ *     header: magic (int) | version (byte) | base currency (3 bytes) | quote currency (3 bytes) | fraction digits (int)
+ *     block:  count (int) | min time (long) | max time (long) | timestamps length (int) | quotes length (int) | timestamps | quotes
+ * </pre>
+ * <p>
+ * Timestamps are epoch nanoseconds and quotes are the values scaled by the fraction digits of the header.
+ * Both columns store the first value followed by the deltas between consecutive values, all as zig-zag varints.
+ * </p>
+ */
+final class ExchangeRateHistoryFormat {
+
+    static final int MAGIC = 0x544D4F52;
+    static final byte VERSION = 1;
+    static final int HEADER_LENGTH = 4 + 1 + 3 + 3 + 4;
+    static final int BLOCK_HEADER_LENGTH = 4 + 8 + 8 + 4 + 4;
+    static final int DEFAULT_BLOCK_SIZE = 4096;
+    static final int MAX_VARINT_LENGTH = 10;
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private ExchangeRateHistoryFormat() { }
+
+    static int writeVarLong(long value, byte[] buffer, int offset) {
+        long v = (value << 1) ^ (value >> 63);
+        while ((v & ~0x7FL) != 0) {
+            buffer[offset++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buffer[offset++] = (byte) v;
+        return offset;
+    }
+
+    /**
+     * Reads a zig-zag varint at the specified position of the buffer.
+     *
+     * <p>
+     * The position following the varint is stored in {@code position[0]}.
+     * </p>
+     */
+    static long readVarLong(ByteBuffer buffer, int[] position) {
+        int p = position[0];
+        long v = 0;
+        int shift = 0;
+        byte b;
+        do {
+            if (shift > 63)
+                throw new IllegalStateException("malformed varint at position " + position[0]);
+            b = buffer.get(p++);
+            v |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        position[0] = p;
+        return (v >>> 1) ^ -(v & 1);
+    }
+
+    static ZonedDateTime toZonedDateTime(long epochNanos) {
+        Instant instant = Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND), Math.floorMod(epochNanos, NANOS_PER_SECOND));
+        return ZonedDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+}
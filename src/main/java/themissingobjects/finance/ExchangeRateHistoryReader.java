@@ -0,0 +1,192 @@
+package themissingobjects.finance;
+
+import themissingobjects.time.InstantInterval;
+import themissingobjects.time.Interval;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Currency;
+import java.util.function.Consumer;
+
+import static themissingobjects.finance.ExchangeRateHistoryFormat.*;
+
+/**
+ * Reads a history of {@link ExchangeRate}s written by an {@link ExchangeRateHistoryWriter}.
+ *
+ * <p>
+ * The file is memory-mapped and only the block headers are read when the reader is opened.
+ * Scanning an {@link Interval} decodes just the blocks whose timestamps may be contained in the interval.
+ * </p>
+ * <p>
+ * Returned rates have timestamps in {@code UTC}.<br>
+ * A reader is thread safe and files bigger than 2GB are not supported.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public class ExchangeRateHistoryReader implements Closeable {
+
+    private final ByteBuffer buffer;
+    private final CurrencyPair currencyPair;
+    private final int fractionDigits;
+    private final int[] blockOffsets;
+    private final long[] blockMinTimes;
+    private final long[] blockMaxTimes;
+    private final int blocks;
+    private final long size;
+
+    private ExchangeRateHistoryReader(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_LENGTH || buffer.getInt(0) != MAGIC)
+            throw new IOException("not an exchange rate history");
+        if (buffer.get(4) != VERSION)
+            throw new IOException("unsupported exchange rate history version (found " + buffer.get(4) + ", expected " + VERSION + ")");
+
+        this.currencyPair = CurrencyPair.of(readCurrency(5), readCurrency(8));
+        this.fractionDigits = buffer.getInt(11);
+
+        int[] offsets = new int[16];
+        long[] mins = new long[16];
+        long[] maxs = new long[16];
+        int n = 0;
+        long total = 0;
+        int offset = HEADER_LENGTH;
+        while (offset < buffer.limit()) {
+            if (offset + BLOCK_HEADER_LENGTH > buffer.limit())
+                throw new IOException("truncated block at offset " + offset);
+            if (n == offsets.length) {
+                offsets = Arrays.copyOf(offsets, n * 2);
+                mins = Arrays.copyOf(mins, n * 2);
+                maxs = Arrays.copyOf(maxs, n * 2);
+            }
+            int count = buffer.getInt(offset);
+            int timestampsLength = buffer.getInt(offset + 20);
+            int quotesLength = buffer.getInt(offset + 24);
+            if (count < 0 || timestampsLength < 0 || quotesLength < 0)
+                throw new IOException("corrupted block at offset " + offset + " (found count " + count + ", lengths " + timestampsLength + " and " + quotesLength + ")");
+            // NOTE: computed as long, so huge lengths cannot wrap around and move the offset backwards
+            long next = (long) offset + BLOCK_HEADER_LENGTH + timestampsLength + quotesLength;
+            if (next > buffer.limit())
+                throw new IOException("truncated block at offset " + offset);
+
+            offsets[n] = offset;
+            mins[n] = buffer.getLong(offset + 4);
+            maxs[n] = buffer.getLong(offset + 12);
+            n++;
+            total += count;
+            offset = (int) next;
+        }
+        if (offset != buffer.limit())
+            throw new IOException("truncated block at offset " + offsets[n - 1]);
+
+        this.blockOffsets = offsets;
+        this.blockMinTimes = mins;
+        this.blockMaxTimes = maxs;
+        this.blocks = n;
+        this.size = total;
+    }
+
+    /**
+     * Returns a reader of the specified file.
+     *
+     * @param path a file written by an {@link ExchangeRateHistoryWriter}
+     * @return a reader
+     * @throws IOException if the file cannot be read or it is not an exchange rate history
+     */
+    public static ExchangeRateHistoryReader open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE)
+                throw new IOException("exchange rate history is too big (found " + channel.size() + " bytes)");
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new ExchangeRateHistoryReader(mapped);
+        }
+    }
+
+    /**
+     * Returns the currency pair of all rates.
+     * @return a {@link CurrencyPair}
+     */
+    public CurrencyPair currencyPair() {
+        return currencyPair;
+    }
+
+    /**
+     * Returns the number of rates.
+     * @return the number of rates
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Passes to the specified consumer all rates, in the order they have been written.
+     *
+     * @param consumer a consumer of rates
+     */
+    public void forEach(Consumer<ExchangeRate> consumer) {
+        for (int i = 0; i < blocks; i++)
+            decode(i, Long.MIN_VALUE, Long.MAX_VALUE, consumer);
+    }
+
+    /**
+     * Passes to the specified consumer all rates whose timestamp is contained in the specified interval, in the order they have been written.
+     *
+     * @param interval an interval
+     * @param consumer a consumer of rates
+     * @return the number of rates passed to the consumer
+     */
+    public long scan(Interval<Instant> interval, Consumer<ExchangeRate> consumer) {
+        InstantInterval nanos = InstantInterval.of(interval);
+        long from = nanos.from();
+        long to = nanos.to();
+        long found = 0;
+        for (int i = 0; i < blocks; i++) {
+            if (blockMaxTimes[i] < from || blockMinTimes[i] >= to)
+                continue;
+            found += decode(i, from, to, consumer);
+        }
+        return found;
+    }
+
+    @Override
+    public void close() {
+        // NOTE: Java does not provide a way to unmap a buffer, it is released by the garbage collector
+    }
+
+    private int decode(int block, long from, long to, Consumer<ExchangeRate> consumer) {
+        int offset = blockOffsets[block];
+        int count = buffer.getInt(offset);
+        int[] timestampPosition = { offset + BLOCK_HEADER_LENGTH };
+        int[] quotePosition = { timestampPosition[0] + buffer.getInt(offset + 20) };
+
+        int found = 0;
+        long timestamp = 0;
+        long quote = 0;
+        for (int i = 0; i < count; i++) {
+            timestamp += readVarLong(buffer, timestampPosition);
+            quote += readVarLong(buffer, quotePosition);
+            if (timestamp >= from && timestamp < to) {
+                consumer.accept(ExchangeRate.of(Quote.of(quote, fractionDigits), currencyPair, toZonedDateTime(timestamp)));
+                found++;
+            }
+        }
+        return found;
+    }
+
+    private Currency readCurrency(int offset) {
+        byte[] code = new byte[3];
+        for (int i = 0; i < code.length; i++)
+            code[i] = buffer.get(offset + i);
+        return Currency.getInstance(new String(code, StandardCharsets.US_ASCII));
+    }
+
+}
@@ -0,0 +1,181 @@
+package themissingobjects.finance;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import static themissingobjects.finance.ExchangeRateHistoryFormat.*;
+
+/**
+ * Writes the history of {@link ExchangeRate}s of a single {@link CurrencyPair} using a columnar format.
+ *
+ * <p>
+ * Rates are buffered in blocks: when a block is full, timestamps and quotes are delta-encoded as varints
+ * and written with the minimum and the maximum timestamp of the block, so that an {@link ExchangeRateHistoryReader}
+ * can skip the blocks outside of the requested interval.<br>
+ * Memory used by a writer depends only on the block size and not on the number of rates written.
+ * </p>
+ * <p>
+ * All quotes are stored with the same fraction digits specified at creation time.
+ * A quote with fewer fraction digits is scaled, while a quote requiring more fraction digits is rejected.
+ * Timestamps are stored as nanoseconds from the epoch, so the original time-zone is not preserved.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public class ExchangeRateHistoryWriter implements Closeable, Flushable {
+
+    private final DataOutputStream out;
+    private final CurrencyPair currencyPair;
+    private final int fractionDigits;
+    private final long[] timestamps;
+    private final long[] quotes;
+    private final byte[] encodedTimestamps;
+    private final byte[] encodedQuotes;
+    private int count;
+    private boolean closed;
+
+    private ExchangeRateHistoryWriter(OutputStream out, CurrencyPair currencyPair, int fractionDigits, int blockSize) throws IOException {
+        Objects.requireNonNull(out);
+        Objects.requireNonNull(currencyPair);
+        if (blockSize <= 0)
+            throw new IllegalArgumentException("'blockSize' must be positive (found " + blockSize + ")");
+
+        this.out = new DataOutputStream(new BufferedOutputStream(out));
+        this.currencyPair = currencyPair;
+        this.fractionDigits = fractionDigits;
+        this.timestamps = new long[blockSize];
+        this.quotes = new long[blockSize];
+        this.encodedTimestamps = new byte[blockSize * MAX_VARINT_LENGTH];
+        this.encodedQuotes = new byte[blockSize * MAX_VARINT_LENGTH];
+        writeHeader();
+    }
+
+    /**
+     * Returns a writer creating (or replacing) the specified file.
+     *
+     * @param path a file
+     * @param currencyPair the currency pair of all rates
+     * @param fractionDigits the fraction digits used to store quotes
+     * @return a writer
+     * @throws IOException if the file cannot be created
+     */
+    public static ExchangeRateHistoryWriter open(Path path, CurrencyPair currencyPair, int fractionDigits) throws IOException {
+        return of(Files.newOutputStream(path), currencyPair, fractionDigits);
+    }
+
+    /**
+     * Returns a writer on the specified stream using the default block size.
+     *
+     * @param out an output stream
+     * @param currencyPair the currency pair of all rates
+     * @param fractionDigits the fraction digits used to store quotes
+     * @return a writer
+     * @throws IOException if the header cannot be written
+     */
+    public static ExchangeRateHistoryWriter of(OutputStream out, CurrencyPair currencyPair, int fractionDigits) throws IOException {
+        return of(out, currencyPair, fractionDigits, DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Returns a writer on the specified stream.
+     *
+     * @param out an output stream
+     * @param currencyPair the currency pair of all rates
+     * @param fractionDigits the fraction digits used to store quotes
+     * @param blockSize the maximum number of rates in a block
+     * @return a writer
+     * @throws IOException if the header cannot be written
+     */
+    public static ExchangeRateHistoryWriter of(OutputStream out, CurrencyPair currencyPair, int fractionDigits, int blockSize) throws IOException {
+        return new ExchangeRateHistoryWriter(out, currencyPair, fractionDigits, blockSize);
+    }
+
+    /**
+     * Appends the specified rate.
+     *
+     * @param rate an exchange rate
+     * @throws IOException if a block cannot be written
+     * @throws IllegalArgumentException if the rate is not related to the currency pair of this writer
+     * @throws ArithmeticException if the quote cannot be represented using the fraction digits of this writer
+     */
+    public void write(ExchangeRate rate) throws IOException {
+        ensureOpen();
+        if (! currencyPair.equals(rate.currencyPair()))
+            throw new IllegalArgumentException("currency pair must be " + currencyPair + " (found " + rate.currencyPair() + ")");
+
+        timestamps[count] = rate.epochNanos();
+        quotes[count] = rate.quote().unscaledValue(fractionDigits);
+        if (++count == timestamps.length)
+            writeBlock();
+    }
+
+    /**
+     * Writes the pending rates as a block and flushes the underlying stream.
+     *
+     * @throws IOException if the block cannot be written
+     */
+    @Override
+    public void flush() throws IOException {
+        ensureOpen();
+        writeBlock();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed)
+            return;
+        try {
+            writeBlock();
+        } finally {
+            closed = true;
+            out.close();
+        }
+    }
+
+    private void writeHeader() throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.write(currencyPair.base().getCurrencyCode().getBytes(StandardCharsets.US_ASCII));
+        out.write(currencyPair.quote().getCurrencyCode().getBytes(StandardCharsets.US_ASCII));
+        out.writeInt(fractionDigits);
+    }
+
+    private void writeBlock() throws IOException {
+        if (count == 0)
+            return;
+
+        long min = timestamps[0];
+        long max = timestamps[0];
+        int timestampsLength = writeVarLong(timestamps[0], encodedTimestamps, 0);
+        int quotesLength = writeVarLong(quotes[0], encodedQuotes, 0);
+        for (int i = 1; i < count; i++) {
+            min = Math.min(min, timestamps[i]);
+            max = Math.max(max, timestamps[i]);
+            timestampsLength = writeVarLong(timestamps[i] - timestamps[i - 1], encodedTimestamps, timestampsLength);
+            quotesLength = writeVarLong(quotes[i] - quotes[i - 1], encodedQuotes, quotesLength);
+        }
+
+        out.writeInt(count);
+        out.writeLong(min);
+        out.writeLong(max);
+        out.writeInt(timestampsLength);
+        out.writeInt(quotesLength);
+        out.write(encodedTimestamps, 0, timestampsLength);
+        out.write(encodedQuotes, 0, quotesLength);
+        count = 0;
+    }
+
+    private void ensureOpen() throws IOException {
+        if (closed)
+            throw new IOException("writer is closed");
+    }
+
+}
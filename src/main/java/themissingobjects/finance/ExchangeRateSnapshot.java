@@ -0,0 +1,238 @@
+package themissingobjects.finance;
+
+import java.util.Currency;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Represents an immutable set of {@link ExchangeRate}s, one for every {@link CurrencyPair}, at a specific version.
+ *
+ * <p>
+ * A snapshot never changes, so a valuation using many rates of the same snapshot is always consistent even if
+ * new rates are published in the meanwhile (see {@link VersionedExchangeRates}).<br>
+ * Rates are stored in a persistent hash trie: adding a rate returns a new snapshot sharing all the untouched
+ * branches with this one, so the cost is proportional to the depth of the trie and not to the number of pairs.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class ExchangeRateSnapshot {
+
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final Node EMPTY_NODE = new Node(0, new Object[0]);
+
+    /**
+     * The snapshot without any rate.
+     */
+    public static final ExchangeRateSnapshot EMPTY = new ExchangeRateSnapshot(0L, EMPTY_NODE, 0);
+
+    private final long version;
+    private final Node root;
+    private final int size;
+
+    private ExchangeRateSnapshot(long version, Node root, int size) {
+        this.version = version;
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the version of this snapshot.
+     * @return the version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Returns the number of currency pairs having a rate.
+     * @return the number of rates
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the rate of the specified currency pair.
+     *
+     * @param currencyPair a currency pair
+     * @return the rate of the specified currency pair or {@code null} if missing
+     */
+    public ExchangeRate get(CurrencyPair currencyPair) {
+        int hash = hash(currencyPair);
+        Node node = root;
+        for (int shift = 0; ; shift += BITS) {
+            if (shift >= Integer.SIZE)
+                return findCollision(node, currencyPair);
+
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((node.bitmap & bit) == 0)
+                return null;
+
+            Object child = node.children[Integer.bitCount(node.bitmap & (bit - 1))];
+            if (child instanceof Node) {
+                node = (Node) child;
+            } else {
+                ExchangeRate rate = (ExchangeRate) child;
+                return rate.currencyPair().equals(currencyPair) ? rate : null;
+            }
+        }
+    }
+
+    /**
+     * Returns a snapshot, with the next version, containing the specified rate in place of the one of the same currency pair.
+     *
+     * @param rate an exchange rate
+     * @return a new snapshot
+     */
+    public ExchangeRateSnapshot with(ExchangeRate rate) {
+        Objects.requireNonNull(rate);
+        boolean[] added = new boolean[1];
+        Node newRoot = put(root, hash(rate.currencyPair()), 0, rate, added);
+        return new ExchangeRateSnapshot(version + 1, newRoot, added[0] ? size + 1 : size);
+    }
+
+    /**
+     * Returns a snapshot, with the next version, containing all the specified rates.
+     *
+     * @param rates some exchange rates
+     * @return a new snapshot
+     */
+    public ExchangeRateSnapshot with(Iterable<ExchangeRate> rates) {
+        boolean[] added = new boolean[1];
+        Node newRoot = root;
+        int newSize = size;
+        for (ExchangeRate rate : rates) {
+            added[0] = false;
+            newRoot = put(newRoot, hash(rate.currencyPair()), 0, rate, added);
+            if (added[0])
+                newSize++;
+        }
+        return new ExchangeRateSnapshot(version + 1, newRoot, newSize);
+    }
+
+    /**
+     * Passes all rates to the specified consumer.
+     *
+     * @param consumer a consumer of rates
+     */
+    public void forEach(Consumer<ExchangeRate> consumer) {
+        forEach(root, consumer);
+    }
+
+    /**
+     * Returns the specified money converted to the specified currency using the rate of this snapshot.
+     *
+     * <p>
+     * Both the pair {@code <money currency>/<currency>} and {@code <currency>/<money currency>} are looked up.
+     * </p>
+     *
+     * @param money a money
+     * @param currency the currency of the returned money
+     * @return the converted money
+     * @throws IllegalArgumentException if this snapshot does not have a rate between the two currencies
+     * @see Money#convert(ExchangeRate)
+     */
+    public Money convert(Money money, Currency currency) {
+        if (money.currency().equals(currency))
+            return money;
+
+        ExchangeRate rate = get(CurrencyPair.of(money.currency(), currency));
+        if (rate == null)
+            rate = get(CurrencyPair.of(currency, money.currency()));
+        if (rate == null)
+            throw new IllegalArgumentException("no exchange rate between " + money.currency() + " and " + currency + " (version " + version + ")");
+        return money.convert(rate);
+    }
+
+    @Override
+    public String toString() {
+        return "ExchangeRateSnapshot{version=" + version + ", size=" + size + "}";
+    }
+
+    private static int hash(CurrencyPair currencyPair) {
+        int h = currencyPair.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static Node put(Node node, int hash, int shift, ExchangeRate rate, boolean[] added) {
+        if (shift >= Integer.SIZE)
+            return putCollision(node, rate, added);
+
+        int bit = 1 << ((hash >>> shift) & MASK);
+        int index = Integer.bitCount(node.bitmap & (bit - 1));
+        if ((node.bitmap & bit) == 0) {
+            Object[] children = new Object[node.children.length + 1];
+            System.arraycopy(node.children, 0, children, 0, index);
+            children[index] = rate;
+            System.arraycopy(node.children, index, children, index + 1, node.children.length - index);
+            added[0] = true;
+            return new Node(node.bitmap | bit, children);
+        }
+
+        Object child = node.children[index];
+        Object newChild;
+        if (child instanceof Node) {
+            newChild = put((Node) child, hash, shift + BITS, rate, added);
+        } else {
+            ExchangeRate existing = (ExchangeRate) child;
+            if (existing.currencyPair().equals(rate.currencyPair())) {
+                newChild = rate;
+            } else {
+                Node split = put(EMPTY_NODE, hash(existing.currencyPair()), shift + BITS, existing, new boolean[1]);
+                newChild = put(split, hash, shift + BITS, rate, added);
+            }
+        }
+        Object[] children = node.children.clone();
+        children[index] = newChild;
+        return new Node(node.bitmap, children);
+    }
+
+    private static Node putCollision(Node node, ExchangeRate rate, boolean[] added) {
+        for (int i = 0; i < node.children.length; i++) {
+            if (((ExchangeRate) node.children[i]).currencyPair().equals(rate.currencyPair())) {
+                Object[] children = node.children.clone();
+                children[i] = rate;
+                return new Node(0, children);
+            }
+        }
+        Object[] children = new Object[node.children.length + 1];
+        System.arraycopy(node.children, 0, children, 0, node.children.length);
+        children[node.children.length] = rate;
+        added[0] = true;
+        return new Node(0, children);
+    }
+
+    private static ExchangeRate findCollision(Node node, CurrencyPair currencyPair) {
+        for (Object child : node.children) {
+            ExchangeRate rate = (ExchangeRate) child;
+            if (rate.currencyPair().equals(currencyPair))
+                return rate;
+        }
+        return null;
+    }
+
+    private static void forEach(Node node, Consumer<ExchangeRate> consumer) {
+        for (Object child : node.children) {
+            if (child instanceof Node)
+                forEach((Node) child, consumer);
+            else
+                consumer.accept((ExchangeRate) child);
+        }
+    }
+
+    private static final class Node {
+
+        private final int bitmap;
+        private final Object[] children;
+
+        private Node(int bitmap, Object[] children) {
+            this.bitmap = bitmap;
+            this.children = children;
+        }
+
+    }
+
+}
@@ -0,0 +1,54 @@
+package themissingobjects.finance;
+
+/**
+ * Contains the 128-bit arithmetic used by the fixed-point computations of {@link Money} and {@link Quote}.
+ *
+ * <p>
+ * This is the Java 8 implementation: the jar contains another one in {@code META-INF/versions/11}, used by Java 11
+ * and later, delegating to {@code Math.multiplyHigh} that the JIT compiles to a single instruction.
+ * Both must return the same results.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+final class FixedPoint {
+
+    private FixedPoint() { }
+
+    /**
+     * Returns the most significant 64 bits of the 128-bit product of the specified values.
+     *
+     * <p>
+     * It is the algorithm of {@code Math.multiplyHigh} (section 8-2 of <i>Hacker's Delight</i>), not available in
+     * Java 8.
+     * </p>
+     */
+    static long multiplyHigh(long x, long y) {
+        long x1 = x >> 32;
+        long x2 = x & 0xFFFFFFFFL;
+        long y1 = y >> 32;
+        long y2 = y & 0xFFFFFFFFL;
+
+        long z2 = x2 * y2;
+        long t = x1 * y2 + (z2 >>> 32);
+        long z1 = t & 0xFFFFFFFFL;
+        long z0 = t >> 32;
+        z1 += x2 * y1;
+
+        return x1 * y1 + z0 + (z1 >> 32);
+    }
+
+    /**
+     * Returns {@code true} if the product of the specified values fits in a {@code long}.
+     *
+     * <p>
+     * Unlike {@code Math.multiplyExact}, it does not throw: callers can take a slower path without paying for an
+     * exception.
+     * </p>
+     */
+    static boolean isProductExact(long x, long y) {
+        return multiplyHigh(x, y) == (x * y) >> 63;
+    }
+
+}
@@ -1,5 +1,9 @@
 package themissingobjects.finance;
 
+import themissingobjects.metrics.Instrumentation;
+import themissingobjects.metrics.Instrumentations;
+import themissingobjects.metrics.Operation;
+
 import java.io.Serializable;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
@@ -54,6 +58,12 @@ public class Money implements Comparable<Money>, Serializable {
         put(4, 10000);
     }};
 
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+            10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+            1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
     private final long value;
     private final Currency currency;
 
@@ -120,6 +130,22 @@ public class Money implements Comparable<Money>, Serializable {
      * @see SmartDecimalFormat
      */
     public static Money parse(String text, Locale locale) throws ParseException {
+        Instrumentation instrumentation = Instrumentations.get();
+        if (! instrumentation.isEnabled())
+            return parseUninstrumented(text, locale);
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Money money = parseUninstrumented(text, locale);
+            success = true;
+            return money;
+        } finally {
+            instrumentation.record(Operation.MONEY_PARSE, System.nanoTime() - start, success);
+        }
+    }
+
+    private static Money parseUninstrumented(String text, Locale locale) throws ParseException {
         DecimalFormat df = new SmartDecimalFormat("¤#,##0.###", locale);
         df.setParseBigDecimal(true);
         BigDecimal parsed = (BigDecimal) df.parse(text);
@@ -189,6 +215,10 @@ public class Money implements Comparable<Money>, Serializable {
         return BigDecimal.valueOf(value).movePointLeft(fractionDigits);
     }
 
+    long value() {
+        return value;
+    }
+
     /**
      * Returns the {@link Currency}.
      *
@@ -213,10 +243,35 @@ public class Money implements Comparable<Money>, Serializable {
      * @throws IllegalArgumentException if the specified {@link ExchangeRate} is on a {@link CurrencyPair} not related to the currency of this money
      */
     public Money convert(ExchangeRate rate) {
+        Instrumentation instrumentation = Instrumentations.get();
+        if (! instrumentation.isEnabled())
+            return convertUninstrumented(rate);
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Money money = convertUninstrumented(rate);
+            success = true;
+            return money;
+        } finally {
+            instrumentation.record(Operation.MONEY_CONVERT, System.nanoTime() - start, success);
+        }
+    }
+
+    private Money convertUninstrumented(ExchangeRate rate) {
         Currency base = rate.currencyPair().base();
         if (currency.equals(base)) {
-            BigDecimal v = toBigDecimal().multiply(rate.quote().toBigDecimal());
-            return of(v, rate.currencyPair().quote());
+            Currency quoteCurrency = rate.currencyPair().quote();
+            Quote quote = rate.quote();
+            long q = quote.unscaledValue(quote.fractionDigits());
+            int shift = currency.getDefaultFractionDigits() + quote.fractionDigits() - quoteCurrency.getDefaultFractionDigits();
+            // NOTE: when the product fits in a long, dividing it truncates towards zero exactly as the BigDecimal
+            //       computation below, without allocating
+            if (shift >= 0 && shift < POWERS_OF_TEN.length && FixedPoint.isProductExact(value, q))
+                return new Money(value * q / POWERS_OF_TEN[shift], quoteCurrency);
+
+            BigDecimal v = toBigDecimal().multiply(quote.toBigDecimal());
+            return of(v, quoteCurrency);
         }
         if (currency.equals(rate.currencyPair().quote())) {
             BigDecimal v = toBigDecimal().divide(rate.quote().toBigDecimal(), base.getDefaultFractionDigits(), RoundingMode.HALF_UP);
@@ -251,6 +306,22 @@ public class Money implements Comparable<Money>, Serializable {
      * @return a textual representation of this money
      */
     public String toString(Locale locale) {
+        Instrumentation instrumentation = Instrumentations.get();
+        if (! instrumentation.isEnabled())
+            return toStringUninstrumented(locale);
+
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            String text = toStringUninstrumented(locale);
+            success = true;
+            return text;
+        } finally {
+            instrumentation.record(Operation.MONEY_FORMAT, System.nanoTime() - start, success);
+        }
+    }
+
+    private String toStringUninstrumented(Locale locale) {
         DecimalFormat df = new SmartDecimalFormat(newPattern(currency.getDefaultFractionDigits()), locale);
         df.setCurrency(currency);
         return df.format(toBigDecimal());
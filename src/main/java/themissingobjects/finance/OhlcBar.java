@@ -0,0 +1,147 @@
+package themissingobjects.finance;
+
+import themissingobjects.time.Interval;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.Objects;
+
+/**
+ * Represents an <a href="https://en.wikipedia.org/wiki/Open-high-low-close_chart" >open-high-low-close</a> bar
+ * of the {@link Quote}s of a {@link CurrencyPair} in an interval.
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ * @see OhlcBarAggregator
+ */
+public class OhlcBar implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final CurrencyPair currencyPair;
+    private final Interval<Instant> interval;
+    private final Quote open;
+    private final Quote high;
+    private final Quote low;
+    private final Quote close;
+    private final long count;
+    private final long volume;
+
+    private OhlcBar(CurrencyPair currencyPair, Interval<Instant> interval, Quote open, Quote high, Quote low, Quote close, long count, long volume) {
+        this.currencyPair = Objects.requireNonNull(currencyPair);
+        this.interval = Objects.requireNonNull(interval);
+        this.open = Objects.requireNonNull(open);
+        this.high = Objects.requireNonNull(high);
+        this.low = Objects.requireNonNull(low);
+        this.close = Objects.requireNonNull(close);
+        this.count = count;
+        this.volume = volume;
+    }
+
+    /**
+     * Returns a bar with the specified values.
+     *
+     * @param currencyPair a currency pair
+     * @param interval the interval of the bar
+     * @param open the first quote of the interval
+     * @param high the highest quote of the interval
+     * @param low the lowest quote of the interval
+     * @param close the last quote of the interval
+     * @param count the number of quotes in the interval
+     * @param volume the volume traded in the interval
+     * @return a bar
+     */
+    public static OhlcBar of(CurrencyPair currencyPair, Interval<Instant> interval, Quote open, Quote high, Quote low, Quote close, long count, long volume) {
+        return new OhlcBar(currencyPair, interval, open, high, low, close, count, volume);
+    }
+
+    /**
+     * Returns the currency pair of this bar.
+     * @return the currency pair
+     */
+    public CurrencyPair currencyPair() {
+        return currencyPair;
+    }
+
+    /**
+     * Returns the interval of this bar.
+     * @return the interval
+     */
+    public Interval<Instant> interval() {
+        return interval;
+    }
+
+    /**
+     * Returns the first quote of the interval.
+     * @return the open quote
+     */
+    public Quote open() {
+        return open;
+    }
+
+    /**
+     * Returns the highest quote of the interval.
+     * @return the high quote
+     */
+    public Quote high() {
+        return high;
+    }
+
+    /**
+     * Returns the lowest quote of the interval.
+     * @return the low quote
+     */
+    public Quote low() {
+        return low;
+    }
+
+    /**
+     * Returns the last quote of the interval.
+     * @return the close quote
+     */
+    public Quote close() {
+        return close;
+    }
+
+    /**
+     * Returns the number of quotes in the interval.
+     * @return the number of quotes
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Returns the volume traded in the interval.
+     * @return the volume
+     */
+    public long volume() {
+        return volume;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        OhlcBar that = (OhlcBar) o;
+        return count == that.count &&
+                volume == that.volume &&
+                Objects.equals(currencyPair, that.currencyPair) &&
+                Objects.equals(interval, that.interval) &&
+                Objects.equals(open, that.open) &&
+                Objects.equals(high, that.high) &&
+                Objects.equals(low, that.low) &&
+                Objects.equals(close, that.close);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(currencyPair, interval, open, high, low, close, count, volume);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s@%s O=%s H=%s L=%s C=%s (count %d, volume %d)", currencyPair, interval, open, high, low, close, count, volume);
+    }
+
+}
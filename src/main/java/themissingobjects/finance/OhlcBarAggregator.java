@@ -0,0 +1,231 @@
+package themissingobjects.finance;
+
+import themissingobjects.time.InstantInterval;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Builds {@link OhlcBar}s of fixed duration from a stream of {@link ExchangeRate}s (or of finer bars).
+ *
+ * <p>
+ * Every tick updates in {@code O(1)} the primitive state of the bar of its {@link CurrencyPair} and time bucket.
+ * When the time of a pair moves past the end of a bucket plus a grace period, the bar of that bucket is closed and
+ * passed to the listener, so ticks arriving out of order within the grace period are still counted in their bar.
+ * Ticks arriving later are dropped and counted (see {@link #lateCount()}).
+ * </p>
+ * <p>
+ * Bars are aligned to the epoch: with a duration of one minute, buckets start at every minute.
+ * Quotes are handled with the fraction digits specified at creation time (see {@link #of(Duration, int, Duration, Consumer)}).
+ * </p>
+ * <p>
+ * Coarser bars can be built passing the bars of a finer aggregator to {@link #onBar(OhlcBar)}, for example
+ * one-hour bars from one-minute bars.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public class OhlcBarAggregator {
+
+    private final long barNanos;
+    private final long graceNanos;
+    private final int fractionDigits;
+    private final Consumer<OhlcBar> listener;
+    private final int slots;
+    private final Map<CurrencyPair, PairState> states = new HashMap<>();
+    private long late;
+
+    private OhlcBarAggregator(Duration barDuration, int fractionDigits, Duration grace, Consumer<OhlcBar> listener) {
+        if (barDuration.isNegative() || barDuration.isZero())
+            throw new IllegalArgumentException("'barDuration' must be positive (found " + barDuration + ")");
+        if (grace.isNegative())
+            throw new IllegalArgumentException("'grace' must not be negative (found " + grace + ")");
+
+        this.barNanos = barDuration.toNanos();
+        this.graceNanos = grace.toNanos();
+        this.fractionDigits = fractionDigits;
+        this.listener = Objects.requireNonNull(listener);
+        this.slots = Math.toIntExact((graceNanos + barNanos - 1) / barNanos + 1);
+    }
+
+    /**
+     * Returns an aggregator of bars lasting the specified duration.
+     *
+     * @param barDuration the duration of every bar
+     * @param fractionDigits the fraction digits used to handle quotes
+     * @param grace how long a bar is kept open after its end, waiting for ticks arriving out of order
+     * @param listener the consumer receiving closed bars
+     * @return an aggregator
+     */
+    public static OhlcBarAggregator of(Duration barDuration, int fractionDigits, Duration grace, Consumer<OhlcBar> listener) {
+        return new OhlcBarAggregator(barDuration, fractionDigits, grace, listener);
+    }
+
+    /**
+     * Updates the bar related to the specified rate.
+     *
+     * @param rate an exchange rate
+     * @throws ArithmeticException if the quote cannot be represented using the fraction digits of this aggregator
+     */
+    public void onTick(ExchangeRate rate) {
+        onTick(rate, 0);
+    }
+
+    /**
+     * Updates the bar related to the specified rate, adding the specified volume.
+     *
+     * @param rate an exchange rate
+     * @param volume the volume traded
+     * @throws ArithmeticException if the quote cannot be represented using the fraction digits of this aggregator
+     */
+    public void onTick(ExchangeRate rate, long volume) {
+        long time = rate.epochNanos();
+        long price = rate.quote().unscaledValue(fractionDigits);
+        update(rate.currencyPair(), time, price, time, price, price, price, 1, volume);
+    }
+
+    /**
+     * Merges the specified bar into the bar containing its interval.
+     *
+     * @param bar a bar shorter than the ones built by this aggregator
+     * @throws IllegalArgumentException if the interval of the bar is not contained in a single bar of this aggregator
+     */
+    public void onBar(OhlcBar bar) {
+        InstantInterval interval = InstantInterval.of(bar.interval());
+        if (! interval.hasBeginning() || ! interval.hasEnd() || Math.floorDiv(interval.from(), barNanos) != Math.floorDiv(interval.to() - 1, barNanos))
+            throw new IllegalArgumentException("bar must be contained in a single bar of " + Duration.ofNanos(barNanos) + " (found " + bar.interval() + ")");
+
+        update(bar.currencyPair(), interval.from(), bar.open().unscaledValue(fractionDigits), interval.to() - 1, bar.close().unscaledValue(fractionDigits),
+                bar.high().unscaledValue(fractionDigits), bar.low().unscaledValue(fractionDigits), bar.count(), bar.volume());
+    }
+
+    /**
+     * Closes all the open bars passing them to the listener.
+     */
+    public void flush() {
+        for (Map.Entry<CurrencyPair, PairState> e : states.entrySet()) {
+            PairState state = e.getValue();
+            long last = Math.floorDiv(state.watermark, barNanos);
+            close(e.getKey(), state, last + 1);
+        }
+    }
+
+    /**
+     * Returns the number of ticks (or bars) dropped because they arrived after their bar has been closed.
+     * @return the number of ticks dropped
+     */
+    public long lateCount() {
+        return late;
+    }
+
+    private void update(CurrencyPair pair, long openTime, long open, long closeTime, long close, long high, long low, long count, long volume) {
+        PairState state = states.get(pair);
+        if (state == null) {
+            state = new PairState(slots, closeTime, Math.floorDiv(closeTime - graceNanos, barNanos));
+            states.put(pair, state);
+        }
+        if (closeTime > state.watermark) {
+            state.watermark = closeTime;
+            close(pair, state, Math.floorDiv(closeTime - graceNanos, barNanos));
+        }
+
+        long bucket = Math.floorDiv(openTime, barNanos);
+        if (bucket < state.closedBefore) {
+            late++;
+            return;
+        }
+
+        BarState bar = state.bars[(int) Math.floorMod(bucket, (long) slots)];
+        if (! bar.used) {
+            bar.used = true;
+            bar.bucket = bucket;
+            bar.openTime = openTime;
+            bar.open = open;
+            bar.closeTime = closeTime;
+            bar.close = close;
+            bar.high = high;
+            bar.low = low;
+            bar.count = count;
+            bar.volume = volume;
+            return;
+        }
+
+        if (openTime < bar.openTime) {
+            bar.openTime = openTime;
+            bar.open = open;
+        }
+        if (closeTime >= bar.closeTime) {
+            bar.closeTime = closeTime;
+            bar.close = close;
+        }
+        bar.high = Math.max(bar.high, high);
+        bar.low = Math.min(bar.low, low);
+        bar.count += count;
+        bar.volume += volume;
+    }
+
+    /**
+     * Emits, in order, the open bars of the specified pair whose bucket is before the specified one.
+     */
+    private void close(CurrencyPair pair, PairState state, long closedBefore) {
+        if (closedBefore <= state.closedBefore)
+            return;
+
+        // NOTE: open bars are always in [state.closedBefore, state.closedBefore + slots)
+        long end = Math.min(closedBefore, state.closedBefore + slots);
+        for (long bucket = state.closedBefore; bucket < end; bucket++) {
+            BarState bar = state.bars[(int) Math.floorMod(bucket, (long) slots)];
+            if (bar.used && bar.bucket == bucket) {
+                bar.used = false;
+                listener.accept(toBar(pair, bar));
+            }
+        }
+        state.closedBefore = closedBefore;
+    }
+
+    private OhlcBar toBar(CurrencyPair pair, BarState bar) {
+        long from = Math.multiplyExact(bar.bucket, barNanos);
+        return OhlcBar.of(pair, InstantInterval.between(from, from + barNanos).toInterval(),
+                Quote.of(bar.open, fractionDigits), Quote.of(bar.high, fractionDigits), Quote.of(bar.low, fractionDigits), Quote.of(bar.close, fractionDigits),
+                bar.count, bar.volume);
+    }
+
+    private static final class PairState {
+
+        private final BarState[] bars;
+        private long watermark;
+        private long closedBefore;
+
+        private PairState(int slots, long watermark, long closedBefore) {
+            this.bars = new BarState[slots];
+            for (int i = 0; i < slots; i++)
+                bars[i] = new BarState();
+            this.watermark = watermark;
+            this.closedBefore = closedBefore;
+        }
+
+    }
+
+    private static final class BarState {
+
+        private boolean used;
+        private long bucket;
+        private long openTime;
+        private long open;
+        private long closeTime;
+        private long close;
+        private long high;
+        private long low;
+        private long count;
+        private long volume;
+
+    }
+
+}
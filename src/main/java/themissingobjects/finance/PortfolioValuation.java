@@ -0,0 +1,164 @@
+package themissingobjects.finance;
+
+import java.util.Currency;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Represents the value of a book of {@link Money} positions expressed in a reporting currency.
+ *
+ * <p>
+ * Positions are grouped by currency and for every currency the last converted value is kept.
+ * When an {@link ExchangeRate} changes, only the position of the related currency is converted again and
+ * the total is adjusted by the difference, so the cost of a revaluation does not depend on the size of the book.
+ * </p>
+ * <p>
+ * Every group is converted using {@link Money#convert(ExchangeRate)}, so the total is the same as the one obtained
+ * converting the sum of the positions of every currency from scratch.
+ * </p>
+ * <p>
+ * This class is not thread safe.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public class PortfolioValuation {
+
+    private final Currency reportingCurrency;
+    private final Map<Currency, Bucket> buckets = new HashMap<>();
+    private long total;
+    private int unvalued;
+
+    private PortfolioValuation(Currency reportingCurrency) {
+        Objects.requireNonNull(reportingCurrency);
+        this.reportingCurrency = reportingCurrency;
+    }
+
+    /**
+     * Returns an empty valuation in the specified currency.
+     *
+     * @param reportingCurrency the currency of the total
+     * @return a valuation
+     */
+    public static PortfolioValuation of(Currency reportingCurrency) {
+        return new PortfolioValuation(reportingCurrency);
+    }
+
+    /**
+     * Returns the currency of the total.
+     * @return a {@link Currency}
+     */
+    public Currency reportingCurrency() {
+        return reportingCurrency;
+    }
+
+    /**
+     * Adds the specified money to the position of its currency and adjusts the total.
+     *
+     * @param money a money
+     */
+    public void add(Money money) {
+        Bucket bucket = bucket(money.currency());
+        bucket.position = bucket.position.plus(money);
+        revalue(bucket);
+    }
+
+    /**
+     * Updates the value of the position related to the specified rate.
+     *
+     * <p>
+     * A rate is related to a position when one of its currencies is the reporting currency and the other one
+     * is the currency of the position. Rates not involving the reporting currency are ignored.
+     * </p>
+     *
+     * @param rate an exchange rate
+     * @return {@code true} if the rate is related to the reporting currency, otherwise {@code false}
+     */
+    public boolean onRate(ExchangeRate rate) {
+        CurrencyPair pair = rate.currencyPair();
+        Currency currency;
+        if (pair.quote().equals(reportingCurrency))
+            currency = pair.base();
+        else if (pair.base().equals(reportingCurrency))
+            currency = pair.quote();
+        else
+            return false;
+        if (currency.equals(reportingCurrency))
+            return false;
+
+        Bucket bucket = bucket(currency);
+        bucket.rate = rate;
+        revalue(bucket);
+        return true;
+    }
+
+    /**
+     * Returns the position in the specified currency.
+     *
+     * @param currency a currency
+     * @return the position in the specified currency (zero if missing)
+     */
+    public Money position(Currency currency) {
+        Bucket bucket = buckets.get(currency);
+        return bucket == null ? new Money(0, currency) : bucket.position;
+    }
+
+    /**
+     * Returns the value of all positions in the reporting currency.
+     *
+     * @return the value of all positions
+     * @throws IllegalStateException if a position has no rate to be converted to the reporting currency
+     */
+    public Money total() {
+        if (unvalued > 0)
+            throw new IllegalStateException("missing exchange rates for " + unvalued + " currencies (reporting currency is " + reportingCurrency + ")");
+        return new Money(total, reportingCurrency);
+    }
+
+    private Bucket bucket(Currency currency) {
+        Bucket bucket = buckets.get(currency);
+        if (bucket == null) {
+            bucket = new Bucket(currency);
+            buckets.put(currency, bucket);
+        }
+        return bucket;
+    }
+
+    private void revalue(Bucket bucket) {
+        boolean wasValued = bucket.valued;
+        long oldValue = bucket.value;
+
+        if (bucket.position.currency().equals(reportingCurrency)) {
+            bucket.value = bucket.position.value();
+            bucket.valued = true;
+        } else if (bucket.rate != null) {
+            bucket.value = bucket.position.convert(bucket.rate).value();
+            bucket.valued = true;
+        } else {
+            bucket.valued = bucket.position.value() == 0;
+            bucket.value = 0;
+        }
+
+        total += bucket.value - oldValue;
+        if (wasValued && ! bucket.valued)
+            unvalued++;
+        else if (! wasValued && bucket.valued)
+            unvalued--;
+    }
+
+    private static final class Bucket {
+
+        private Money position;
+        private ExchangeRate rate;
+        private long value;
+        private boolean valued = true;
+
+        private Bucket(Currency currency) {
+            this.position = new Money(0, currency);
+        }
+
+    }
+
+}
@@ -2,6 +2,7 @@ package themissingobjects.finance;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Objects;
 
 /**
@@ -33,10 +34,53 @@ public class Quote implements Comparable<Quote>, Serializable {
         return new Quote(value.movePointRight(fractionDigits).longValue(), fractionDigits);
     }
 
+    /**
+     * Returns a quote parsing the specified text.
+     *
+     * <p>
+     * The text has the format accepted by {@code new BigDecimal(String)}: an optional sign, digits with an optional
+     * {@code .} and an optional exponent (e.g. {@code -1.2345}, {@code .5}, {@code 12E-3}). Digits are accumulated
+     * directly in the internal {@code long} without creating a {@code BigDecimal}, and the returned quote is the same
+     * of {@code Quote.of(new BigDecimal(text))}, including its fraction digits.
+     * </p>
+     * <p>
+     * Only ASCII digits are accepted. Unlike {@code Quote.of(BigDecimal)}, a value whose digits do not fit in a
+     * {@code long} is rejected instead of being truncated.
+     * </p>
+     *
+     * @param text a text
+     * @return a quote
+     * @throws NumberFormatException if the text is not a valid number or its digits do not fit in a {@code long}
+     */
+    public static Quote parse(CharSequence text) {
+        return parse(text, null, 0, text.length());
+    }
+
+    /**
+     * Returns a quote parsing the specified range of ASCII bytes (e.g. a field of a message received from a feed).
+     *
+     * @param bytes an array of ASCII bytes
+     * @param offset the index of the first byte to parse
+     * @param length the number of bytes to parse
+     * @return a quote
+     * @throws NumberFormatException if the bytes are not a valid number or its digits do not fit in a {@code long}
+     * @throws IndexOutOfBoundsException if the range is out of the array
+     * @see #parse(CharSequence)
+     */
+    public static Quote parse(byte[] bytes, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > bytes.length - length)
+            throw new IndexOutOfBoundsException("range [" + offset + ", " + offset + " + " + length + ") out of bounds for length " + bytes.length);
+        return parse(null, bytes, offset, length);
+    }
+
     public static Quote of(int value) {
         return new Quote(value, 0);
     }
 
+    static Quote of(long value, int fractionDigits) {
+        return new Quote(value, fractionDigits);
+    }
+
     public Quote plus(Quote that) {
         if (fractionDigits == that.fractionDigits)
             return new Quote(   value + that.value, fractionDigits);
@@ -66,6 +110,29 @@ public class Quote implements Comparable<Quote>, Serializable {
         return BigDecimal.valueOf(value).movePointLeft(fractionDigits);
     }
 
+    int fractionDigits() {
+        return fractionDigits;
+    }
+
+    /**
+     * Returns the internal value of this quote expressed with the specified fraction digits.
+     *
+     * @param newFractionDigits the fraction digits of the returned value
+     * @return the internal value expressed with the specified fraction digits
+     * @throws ArithmeticException if the value cannot be represented exactly
+     */
+    long unscaledValue(int newFractionDigits) {
+        if (newFractionDigits == fractionDigits)
+            return value;
+        if (newFractionDigits < fractionDigits)
+            return toBigDecimal().movePointRight(newFractionDigits).longValueExact();
+
+        long result = value;
+        for (int i = fractionDigits; i < newFractionDigits; i++)
+            result = Math.multiplyExact(result, 10L);
+        return result;
+    }
+
     @Override
     public int compareTo(Quote o) {
         return Long.compare(value, o.value);
@@ -94,6 +161,100 @@ public class Quote implements Comparable<Quote>, Serializable {
         return toBigDecimal().toPlainString();
     }
 
+    /**
+     * Parses the specified text or, if it is {@code null}, the specified bytes.
+     *
+     * <p>
+     * Digits are accumulated as a negative number, because the negative range of {@code long} is the larger one.
+     * </p>
+     */
+    private static Quote parse(CharSequence text, byte[] bytes, int offset, int length) {
+        int i = offset;
+        int end = offset + length;
+        if (i == end)
+            throw invalid(text, bytes, offset, length);
+
+        boolean negative = false;
+        int c = charAt(text, bytes, i);
+        if (c == '-' || c == '+') {
+            negative = c == '-';
+            i++;
+        }
+
+        long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+        long multiplyLimit = limit / 10;
+        long value = 0;
+        boolean digits = false;
+        boolean point = false;
+        int fractionDigits = 0;
+        for (; i < end; i++) {
+            c = charAt(text, bytes, i);
+            if (c >= '0' && c <= '9') {
+                int digit = c - '0';
+                if (value < multiplyLimit || value * 10 < limit + digit)
+                    throw new NumberFormatException("digits of '" + toString(text, bytes, offset, length) + "' do not fit in a long");
+                value = value * 10 - digit;
+                digits = true;
+                if (point)
+                    fractionDigits++;
+            } else if (c == '.' && ! point) {
+                point = true;
+            } else if (c == 'e' || c == 'E') {
+                break;
+            } else {
+                throw invalid(text, bytes, offset, length);
+            }
+        }
+        if (! digits)
+            throw invalid(text, bytes, offset, length);
+
+        long scale = fractionDigits;
+        if (i < end)
+            scale -= parseExponent(text, bytes, i + 1, end, offset, length);
+        if (scale != (int) scale)
+            throw new NumberFormatException("scale of '" + toString(text, bytes, offset, length) + "' out of range");
+
+        return new Quote(negative ? value : -value, (int) scale);
+    }
+
+    private static long parseExponent(CharSequence text, byte[] bytes, int from, int end, int offset, int length) {
+        int i = from;
+        boolean negative = false;
+        if (i < end && (charAt(text, bytes, i) == '-' || charAt(text, bytes, i) == '+')) {
+            negative = charAt(text, bytes, i) == '-';
+            i++;
+        }
+        if (i == end)
+            throw invalid(text, bytes, offset, length);
+
+        long exponent = 0;
+        for (; i < end; i++) {
+            int c = charAt(text, bytes, i);
+            if (c < '0' || c > '9')
+                throw invalid(text, bytes, offset, length);
+            exponent = exponent * 10 + (c - '0');
+            // NOTE: as BigDecimal, an exponent out of the range of int is rejected
+            if (exponent > 1L + Integer.MAX_VALUE)
+                throw new NumberFormatException("exponent of '" + toString(text, bytes, offset, length) + "' out of range");
+        }
+        exponent = negative ? -exponent : exponent;
+        if (exponent != (int) exponent)
+            throw new NumberFormatException("exponent of '" + toString(text, bytes, offset, length) + "' out of range");
+        return exponent;
+    }
+
+    private static int charAt(CharSequence text, byte[] bytes, int index) {
+        return text != null ? text.charAt(index) : bytes[index] & 0xFF;
+    }
+
+    private static NumberFormatException invalid(CharSequence text, byte[] bytes, int offset, int length) {
+        return new NumberFormatException("'" + toString(text, bytes, offset, length) + "' is not a valid quote");
+    }
+
+    private static String toString(CharSequence text, byte[] bytes, int offset, int length) {
+        return text != null ? text.toString() : new String(bytes, offset, length, StandardCharsets.ISO_8859_1);
+    }
+
     private Quote scale(int newFractionDigits) {
         if (newFractionDigits == fractionDigits)
             return this;
@@ -1,5 +1,8 @@
 package themissingobjects.finance;
 
+import themissingobjects.metrics.Instrumentation;
+import themissingobjects.metrics.Instrumentations;
+import themissingobjects.metrics.Operation;
 
 import java.text.DecimalFormat;
 import java.text.DecimalFormatSymbols;
@@ -102,10 +105,26 @@ public class SmartDecimalFormat extends DecimalFormat {
         }
     }
 
+    /**
+     * Returns the currency having the specified symbol in the specified locale.
+     *
+     * @param currencySymbol a currency symbol (e.g. {@code €})
+     * @param locale a {@link Locale}
+     * @return the currency having the symbol or {@code null} if there is none
+     */
     public static Currency currencyBySymbol(String currencySymbol, Locale locale) {
-        Map<String, Currency> currencyBySymbol = newCurrencyBySymbol(locale);
-        Currency currency = currencyBySymbol.get(currencySymbol);
-        return currency;
+        Instrumentation instrumentation = Instrumentations.get();
+        if (! instrumentation.isEnabled())
+            return newCurrencyBySymbol(locale).get(currencySymbol);
+
+        long start = System.nanoTime();
+        Currency currency = null;
+        try {
+            currency = newCurrencyBySymbol(locale).get(currencySymbol);
+            return currency;
+        } finally {
+            instrumentation.record(Operation.CURRENCY_BY_SYMBOL, System.nanoTime() - start, currency != null);
+        }
     }
 
     private static Map<String, Currency> newCurrencyBySymbol(Locale locale) {
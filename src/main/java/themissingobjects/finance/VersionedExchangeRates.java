@@ -0,0 +1,77 @@
+package themissingobjects.finance;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Represents the current set of {@link ExchangeRate}s published as a sequence of immutable {@link ExchangeRateSnapshot}s.
+ *
+ * <p>
+ * Readers pin the current snapshot with {@link #snapshot()}, a single volatile read, and use it for the whole
+ * computation without any lock, while writers publish new versions.<br>
+ * Publishing never blocks readers: a new snapshot shares with the previous one all the pairs not updated.
+ * </p>
+ * <p>
+ * This class is thread safe. Concurrent writers are supported, but a single writer avoids retries.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public class VersionedExchangeRates {
+
+    private final AtomicReference<ExchangeRateSnapshot> current;
+
+    private VersionedExchangeRates(ExchangeRateSnapshot initial) {
+        this.current = new AtomicReference<>(initial);
+    }
+
+    /**
+     * Returns an instance without any rate.
+     * @return an instance without any rate
+     */
+    public static VersionedExchangeRates empty() {
+        return new VersionedExchangeRates(ExchangeRateSnapshot.EMPTY);
+    }
+
+    /**
+     * Returns the current snapshot.
+     * @return the current snapshot
+     */
+    public ExchangeRateSnapshot snapshot() {
+        return current.get();
+    }
+
+    /**
+     * Publishes the specified rate as a new version.
+     *
+     * @param rate an exchange rate
+     * @return the published snapshot
+     */
+    public ExchangeRateSnapshot publish(ExchangeRate rate) {
+        Objects.requireNonNull(rate);
+        while (true) {
+            ExchangeRateSnapshot snapshot = current.get();
+            ExchangeRateSnapshot next = snapshot.with(rate);
+            if (current.compareAndSet(snapshot, next))
+                return next;
+        }
+    }
+
+    /**
+     * Publishes all the specified rates as a single new version.
+     *
+     * @param rates some exchange rates
+     * @return the published snapshot
+     */
+    public ExchangeRateSnapshot publish(Iterable<ExchangeRate> rates) {
+        Objects.requireNonNull(rates);
+        while (true) {
+            ExchangeRateSnapshot snapshot = current.get();
+            ExchangeRateSnapshot next = snapshot.with(rates);
+            if (current.compareAndSet(snapshot, next))
+                return next;
+        }
+    }
+
+}
@@ -0,0 +1,59 @@
+package themissingobjects.metrics;
+
+/**
+ * Represents a receiver of the latency and of the outcome of the {@link Operation}s of this library.
+ *
+ * <p>
+ * This is a service provider interface: the implementation used by the library is the first one found by
+ * {@code ServiceLoader} (see {@link Instrumentations}), so metrics can be exported to any metrics stack adding a jar
+ * to the classpath, without wrapping every call site. When no implementation is found, {@link #NOOP} is used.
+ * </p>
+ * <p>
+ * Implementations must be thread safe, must have a public no-args constructor and should be fast: they are invoked
+ * on every operation.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ * @see MetricsInstrumentation
+ */
+public interface Instrumentation {
+
+    /**
+     * An instrumentation ignoring everything.
+     *
+     * <p>
+     * Because it is disabled, instrumented operations do not even read the clock: the JIT can remove the
+     * instrumentation from the code altogether.
+     * </p>
+     */
+    Instrumentation NOOP = new Instrumentation() {
+
+        @Override
+        public boolean isEnabled() {
+            return false;
+        }
+
+        @Override
+        public void record(Operation operation, long nanos, boolean success) { }
+
+    };
+
+    /**
+     * Returns {@code true} if this instrumentation wants to receive operations.
+     * @return {@code true} if this instrumentation is enabled, otherwise {@code false}
+     */
+    default boolean isEnabled() {
+        return true;
+    }
+
+    /**
+     * Records an operation.
+     *
+     * @param operation the operation
+     * @param nanos the time spent by the operation, in nanoseconds
+     * @param success {@code false} if the operation failed
+     */
+    void record(Operation operation, long nanos, boolean success);
+
+}
@@ -0,0 +1,47 @@
+package themissingobjects.metrics;
+
+import java.util.Iterator;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+
+/**
+ * Holds the {@link Instrumentation} used by this library.
+ *
+ * <p>
+ * The instrumentation is loaded once, when this class is initialized, using {@code ServiceLoader}: to use your own,
+ * list its class in a {@code META-INF/services/themissingobjects.metrics.Instrumentation} file in the classpath.
+ * When no implementation is found (or it cannot be loaded), {@link Instrumentation#NOOP} is used.
+ * </p>
+ * <p>
+ * Because the instrumentation is held in a {@code static final} field, the JIT treats it as a constant and removes
+ * the code of a disabled instrumentation from the instrumented methods.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class Instrumentations {
+
+    private static final Instrumentation INSTRUMENTATION = load();
+
+    private Instrumentations() { }
+
+    /**
+     * Returns the instrumentation used by this library.
+     * @return the instrumentation
+     */
+    public static Instrumentation get() {
+        return INSTRUMENTATION;
+    }
+
+    private static Instrumentation load() {
+        try {
+            Iterator<Instrumentation> iterator = ServiceLoader.load(Instrumentation.class, Instrumentations.class.getClassLoader()).iterator();
+            return iterator.hasNext() ? iterator.next() : Instrumentation.NOOP;
+        } catch (ServiceConfigurationError | RuntimeException e) {
+            // NOTE: metrics are not worth breaking the library
+            return Instrumentation.NOOP;
+        }
+    }
+
+}
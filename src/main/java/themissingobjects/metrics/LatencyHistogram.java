@@ -0,0 +1,215 @@
+package themissingobjects.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a histogram of latencies (or of any non negative {@code long}) with a bounded relative error.
+ *
+ * <p>
+ * Buckets are <i>log-linear</i>, as in <a href="http://hdrhistogram.org/" >HdrHistogram</a>: every power of 2 is split
+ * in {@code 2^precision} buckets of the same width, so the width of a bucket is proportional to its values and the
+ * relative error is at most {@code 2^-precision} (about 3% with the default precision of 5). Values lower than
+ * {@code 2^(precision + 1)} have a bucket each.
+ * </p>
+ * <p>
+ * Counts are kept in a single array of primitive longs: recording a value does not allocate and costs a few bit
+ * operations and an atomic increment, and the whole range of {@code long} needs less than 2000 buckets.
+ * </p>
+ * <p>
+ * This class is thread safe: values can be recorded and read concurrently, but a reader can see only part of the
+ * values recorded while it is reading.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class LatencyHistogram {
+
+    /**
+     * The default precision: every power of 2 is split in 32 buckets.
+     */
+    public static final int DEFAULT_PRECISION = 5;
+
+    private final int precision;
+    private final int subBuckets;
+    private final AtomicLongArray counts;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    private LatencyHistogram(int precision) {
+        if (precision < 1 || precision > 10)
+            throw new IllegalArgumentException("'precision' must be between 1 and 10 (found " + precision + ")");
+
+        this.precision = precision;
+        this.subBuckets = 1 << precision;
+        this.counts = new AtomicLongArray((64 - precision) * subBuckets);
+    }
+
+    /**
+     * Returns an empty histogram with the default precision.
+     * @return a histogram
+     */
+    public static LatencyHistogram create() {
+        return new LatencyHistogram(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Returns an empty histogram splitting every power of 2 in {@code 2^precision} buckets.
+     *
+     * @param precision the number of bits of precision, from 1 to 10
+     * @return a histogram
+     */
+    public static LatencyHistogram of(int precision) {
+        return new LatencyHistogram(precision);
+    }
+
+    /**
+     * Records the specified value. Negative values are recorded as zero.
+     *
+     * @param value a value (e.g. a latency in nanoseconds)
+     */
+    public void record(long value) {
+        long v = Math.max(value, 0);
+        counts.incrementAndGet(indexOf(v));
+        count.increment();
+        sum.add(v);
+        if (v > max.get())
+            max.accumulateAndGet(v, Math::max);
+    }
+
+    /**
+     * Returns the number of values recorded.
+     * @return the number of values recorded
+     */
+    public long count() {
+        return count.sum();
+    }
+
+    /**
+     * Returns the sum of the values recorded.
+     * @return the sum of the values recorded
+     */
+    public long sum() {
+        return sum.sum();
+    }
+
+    /**
+     * Returns the highest value recorded.
+     * @return the highest value recorded or zero if this histogram is empty
+     */
+    public long max() {
+        return max.get();
+    }
+
+    /**
+     * Returns the mean of the values recorded.
+     * @return the mean of the values recorded or zero if this histogram is empty
+     */
+    public double mean() {
+        long n = count();
+        return n == 0 ? 0 : (double) sum() / n;
+    }
+
+    /**
+     * Returns the value below which the specified percentage of values falls.
+     *
+     * <p>
+     * The value returned is the highest value of the bucket containing the percentile (never greater than
+     * {@link #max()}), so it is greater than the exact percentile by at most the relative error of this histogram.
+     * </p>
+     *
+     * @param percentile a percentile between 0 and 100 (e.g. 99.9)
+     * @return the value at the specified percentile or zero if this histogram is empty
+     */
+    public long valueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100)
+            throw new IllegalArgumentException("'percentile' must be between 0 and 100 (found " + percentile + ")");
+
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++)
+            total += counts.get(i);
+        if (total == 0)
+            return 0;
+
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            seen += counts.get(i);
+            if (seen >= rank)
+                return Math.min(highestValueOf(i), max());
+        }
+        return max();
+    }
+
+    /**
+     * Passes every non empty bucket to the specified consumer, from the lowest to the highest.
+     *
+     * @param consumer a consumer of buckets
+     */
+    public void forEachBucket(BucketConsumer consumer) {
+        for (int i = 0; i < counts.length(); i++) {
+            long c = counts.get(i);
+            if (c > 0)
+                consumer.accept(lowestValueOf(i), highestValueOf(i), c);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("count %d, mean %.1f, p50 %d, p99 %d, max %d", count(), mean(), valueAtPercentile(50), valueAtPercentile(99), max());
+    }
+
+    /**
+     * Returns the bucket of the specified value.
+     *
+     * <p>
+     * Values lower than {@code 2 * subBuckets} are their own bucket. For the others, {@code shift} is the number of
+     * bits dropped to keep the {@code precision + 1} most significant ones ({@code top}, between {@code subBuckets}
+     * and {@code 2 * subBuckets - 1}): buckets of the same {@code shift} follow the ones of the previous shift.
+     * </p>
+     */
+    int indexOf(long value) {
+        if (value < 2 * subBuckets)
+            return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - precision;
+        return shift * subBuckets + (int) (value >>> shift);
+    }
+
+    long lowestValueOf(int index) {
+        if (index < 2 * subBuckets)
+            return index;
+        int shift = index / subBuckets - 1;
+        long top = index - (long) shift * subBuckets;
+        return top << shift;
+    }
+
+    long highestValueOf(int index) {
+        if (index < 2 * subBuckets)
+            return index;
+        int shift = index / subBuckets - 1;
+        long top = index - (long) shift * subBuckets;
+        // NOTE: computed as lowest + width - 1, so the highest bucket does not overflow
+        return (top << shift) + ((1L << shift) - 1);
+    }
+
+    /**
+     * Represents a consumer of the buckets of a {@link LatencyHistogram}.
+     */
+    @FunctionalInterface
+    public interface BucketConsumer {
+
+        /**
+         * Accepts a bucket.
+         *
+         * @param from the lowest value of the bucket (inclusive)
+         * @param to the highest value of the bucket (inclusive)
+         * @param count the number of values recorded in the bucket
+         */
+        void accept(long from, long to, long count);
+
+    }
+
+}
@@ -0,0 +1,88 @@
+package themissingobjects.metrics;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents an {@link Instrumentation} keeping, for every {@link Operation}, a {@link LatencyHistogram} of its
+ * latencies in nanoseconds and a counter of its failures.
+ *
+ * <p>
+ * It can be registered as the instrumentation of the library (listing it in
+ * {@code META-INF/services/themissingobjects.metrics.Instrumentation}) and read periodically to export metrics, or
+ * it can be used by another instrumentation to do the bookkeeping:
+ * </p>
+ * <code>
+ *     MetricsInstrumentation metrics = (MetricsInstrumentation) Instrumentations.get();<br>
+ *     long p99 = metrics.histogram(Operation.MONEY_PARSE).valueAtPercentile(99);<br>
+ *     long failures = metrics.failures(Operation.MONEY_PARSE);<br>
+ * </code>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public class MetricsInstrumentation implements Instrumentation {
+
+    private final Map<Operation, LatencyHistogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder> failures = new EnumMap<>(Operation.class);
+
+    public MetricsInstrumentation() {
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, LatencyHistogram.create());
+            failures.put(operation, new LongAdder());
+        }
+    }
+
+    @Override
+    public void record(Operation operation, long nanos, boolean success) {
+        histograms.get(operation).record(nanos);
+        if (! success)
+            failures.get(operation).increment();
+    }
+
+    /**
+     * Returns the histogram of the latencies of the specified operation, in nanoseconds.
+     *
+     * @param operation an operation
+     * @return the histogram of the latencies of the operation
+     */
+    public LatencyHistogram histogram(Operation operation) {
+        return histograms.get(operation);
+    }
+
+    /**
+     * Returns the number of times the specified operation has been executed (including failures).
+     *
+     * @param operation an operation
+     * @return the number of times the operation has been executed
+     */
+    public long count(Operation operation) {
+        return histograms.get(operation).count();
+    }
+
+    /**
+     * Returns the number of times the specified operation failed.
+     *
+     * @param operation an operation
+     * @return the number of times the operation failed
+     */
+    public long failures(Operation operation) {
+        return failures.get(operation).sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (Operation operation : Operation.values()) {
+            if (sb.length() > 0)
+                sb.append(System.lineSeparator());
+            sb.append(operation).append(": ").append(histograms.get(operation)).append(", failures ").append(failures(operation));
+        }
+        return sb.toString();
+    }
+
+}
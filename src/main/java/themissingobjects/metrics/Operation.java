@@ -0,0 +1,32 @@
+package themissingobjects.metrics;
+
+/**
+ * Represents an operation of this library measured by an {@link Instrumentation}.
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public enum Operation {
+
+    /**
+     * Parsing of a {@code Money} (see {@code Money.parse}).
+     */
+    MONEY_PARSE,
+
+    /**
+     * Formatting of a {@code Money} (see {@code Money.toString}).
+     */
+    MONEY_FORMAT,
+
+    /**
+     * Conversion of a {@code Money} by an {@code ExchangeRate} (see {@code Money.convert}).
+     */
+    MONEY_CONVERT,
+
+    /**
+     * Lookup of a {@code Currency} by its symbol (see {@code SmartDecimalFormat.currencyBySymbol}).
+     * It fails when no currency has the symbol.
+     */
+    CURRENCY_BY_SYMBOL
+
+}
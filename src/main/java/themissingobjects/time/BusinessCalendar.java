@@ -0,0 +1,332 @@
+package themissingobjects.time;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.*;
+
+/**
+ * Represents a calendar of business days in a range of years.
+ *
+ * <p>
+ * Every day of the range is a bit of a bitset (set for business days) and, for every word of the bitset, the number
+ * of business days before it is precomputed. This way counting the business days of an {@link Interval} costs
+ * two lookups and two popcounts, while adding business days to a date costs a binary search on the precomputed
+ * counts, instead of iterating day by day and checking a set of holidays.
+ * </p>
+ * <p>
+ * Calendars can be combined: for example the calendar of the days open both in Frankfurt and in New York (as
+ * required to settle a EUR/USD trade) is the {@link #intersection(BusinessCalendar)} of the two calendars.
+ * </p>
+ * <p>
+ * Dates outside the range of years are refused with an {@code IllegalArgumentException}. This class is immutable.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class BusinessCalendar {
+
+    private final long firstDay;
+    private final int days;
+    private final long[] bits;
+    private final int[] ranks;
+
+    private BusinessCalendar(long firstDay, int days, long[] bits) {
+        this.firstDay = firstDay;
+        this.days = days;
+        this.bits = bits;
+        this.ranks = new int[bits.length + 1];
+        for (int w = 0; w < bits.length; w++)
+            ranks[w + 1] = ranks[w] + Long.bitCount(bits[w]);
+    }
+
+    /**
+     * Returns a builder of a calendar covering the specified years, having saturdays and sundays as weekend.
+     *
+     * @param first the first year of the calendar
+     * @param last the last year of the calendar (inclusive)
+     * @return a builder
+     */
+    public static Builder builder(Year first, Year last) {
+        return new Builder(first, last);
+    }
+
+    /**
+     * Returns the first day of this calendar.
+     * @return the first day of this calendar
+     */
+    public LocalDate firstDay() {
+        return LocalDate.ofEpochDay(firstDay);
+    }
+
+    /**
+     * Returns the last day of this calendar.
+     * @return the last day of this calendar
+     */
+    public LocalDate lastDay() {
+        return LocalDate.ofEpochDay(firstDay + days - 1);
+    }
+
+    public boolean isBusinessDay(LocalDate date) {
+        int i = index(date);
+        return (bits[i >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Returns the number of business days in the specified interval.
+     *
+     * @param interval an interval
+     * @return the number of business days in the interval
+     * @throws IllegalArgumentException if the interval is open or it is not in the range of this calendar
+     */
+    public int count(Interval<LocalDate> interval) {
+        if (interval.from() == null || interval.to() == null)
+            throw new IllegalArgumentException("cannot count business days of an open interval (interval is '" + interval + "')");
+        return rank(indexOfEnd(interval.to())) - rank(index(interval.from()));
+    }
+
+    /**
+     * Returns the business day coming the specified number of business days after (or before, if negative) the specified date.
+     *
+     * <p>
+     * The specified date is not counted, so {@code plusBusinessDays(friday, 1)} returns the next monday in a calendar
+     * without holidays. When {@code n} is zero, the specified date is returned.
+     * </p>
+     *
+     * @param date a date
+     * @param n the number of business days to add
+     * @return the business day found
+     * @throws IllegalArgumentException if the date or the result are not in the range of this calendar
+     */
+    public LocalDate plusBusinessDays(LocalDate date, int n) {
+        return plus(date, n);
+    }
+
+    public LocalDate minusBusinessDays(LocalDate date, int n) {
+        // NOTE: negated as long, because -Integer.MIN_VALUE does not fit in an int
+        return plus(date, -(long) n);
+    }
+
+    private LocalDate plus(LocalDate date, long n) {
+        int i = index(date);
+        if (n == 0)
+            return date;
+
+        long k = n > 0 ? rank(i + 1) + n - 1 : rank(i) + n;
+        if (k < 0 || k >= ranks[bits.length])
+            throw new IllegalArgumentException(Math.abs(n) + " business days " + (n > 0 ? "after" : "before") + " " + date + " are out of calendar (from " + firstDay() + " to " + lastDay() + ")");
+        return LocalDate.ofEpochDay(firstDay + select((int) k));
+    }
+
+    /**
+     * Returns the first business day after the specified date.
+     *
+     * @param date a date
+     * @return the first business day after the date
+     * @throws IllegalArgumentException if there is no business day after the date in the range of this calendar
+     */
+    public LocalDate next(LocalDate date) {
+        return plusBusinessDays(date, 1);
+    }
+
+    /**
+     * Returns the last business day before the specified date.
+     *
+     * @param date a date
+     * @return the last business day before the date
+     * @throws IllegalArgumentException if there is no business day before the date in the range of this calendar
+     */
+    public LocalDate previous(LocalDate date) {
+        return plusBusinessDays(date, -1);
+    }
+
+    /**
+     * Returns a calendar where a day is a business day if it is a business day in this calendar or in the specified one.
+     *
+     * @param that another calendar
+     * @return the union of the calendars, covering the years common to both
+     * @throws IllegalArgumentException if the calendars have no year in common
+     */
+    public BusinessCalendar union(BusinessCalendar that) {
+        return combine(that, true);
+    }
+
+    /**
+     * Returns a calendar where a day is a business day if it is a business day both in this calendar and in the specified one.
+     *
+     * @param that another calendar
+     * @return the intersection of the calendars, covering the years common to both
+     * @throws IllegalArgumentException if the calendars have no year in common
+     */
+    public BusinessCalendar intersection(BusinessCalendar that) {
+        return combine(that, false);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        BusinessCalendar that = (BusinessCalendar) o;
+        return firstDay == that.firstDay && days == that.days && Arrays.equals(bits, that.bits);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(firstDay) + Arrays.hashCode(bits);
+    }
+
+    @Override
+    public String toString() {
+        return "BusinessCalendar[" + firstDay() + "/" + lastDay() + ", " + ranks[bits.length] + " business days]";
+    }
+
+    private BusinessCalendar combine(BusinessCalendar that, boolean union) {
+        long from = Math.max(firstDay, that.firstDay);
+        long to = Math.min(firstDay + days, that.firstDay + that.days);
+        if (from >= to)
+            throw new IllegalArgumentException("calendars have no year in common (" + this + ", " + that + ")");
+
+        int length = (int) (to - from);
+        long[] combined = new long[words(length)];
+        for (int w = 0; w < combined.length; w++) {
+            long a = word(from - firstDay + w * 64L);
+            long b = that.word(from - that.firstDay + w * 64L);
+            combined[w] = union ? a | b : a & b;
+        }
+        if ((length & 63) != 0)
+            combined[combined.length - 1] &= (1L << length) - 1;
+        return new BusinessCalendar(from, length, combined);
+    }
+
+    /**
+     * Returns the 64 bits starting at the specified position (not necessarily aligned to a word).
+     */
+    private long word(long position) {
+        int w = (int) (position >>> 6);
+        int shift = (int) (position & 63);
+        long word = bits[w] >>> shift;
+        if (shift != 0 && w + 1 < bits.length)
+            word |= bits[w + 1] << (64 - shift);
+        return word;
+    }
+
+    private int index(LocalDate date) {
+        long i = date.toEpochDay() - firstDay;
+        if (i < 0 || i >= days)
+            throw new IllegalArgumentException("date '" + date + "' is out of calendar (from " + firstDay() + " to " + lastDay() + ")");
+        return (int) i;
+    }
+
+    /**
+     * Returns the index of the day after the last one of an interval, that can be the end of the calendar.
+     */
+    private int indexOfEnd(LocalDate to) {
+        return to.toEpochDay() - firstDay == days ? days : index(to);
+    }
+
+    /**
+     * Returns the number of business days before the specified index.
+     */
+    private int rank(int i) {
+        int w = i >>> 6;
+        int rank = ranks[w];
+        if ((i & 63) != 0)
+            rank += Long.bitCount(bits[w] & ((1L << i) - 1));
+        return rank;
+    }
+
+    /**
+     * Returns the index of the business day preceded by {@code k} business days.
+     */
+    private int select(int k) {
+        // NOTE: last word having less than k business days before it
+        int lo = 0;
+        int hi = bits.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (ranks[mid] <= k)
+                lo = mid;
+            else
+                hi = mid - 1;
+        }
+        long word = bits[lo];
+        for (int r = k - ranks[lo]; r > 0; r--)
+            word &= word - 1;
+        return lo * 64 + Long.numberOfTrailingZeros(word);
+    }
+
+    private static int words(int days) {
+        return (days + 63) >>> 6;
+    }
+
+    /**
+     * Represents a builder of {@link BusinessCalendar}.
+     */
+    public static final class Builder {
+
+        private final LocalDate first;
+        private final LocalDate end;
+        private final Set<DayOfWeek> weekend = EnumSet.of(DayOfWeek.SATURDAY, DayOfWeek.SUNDAY);
+        private final Set<LocalDate> holidays = new HashSet<>();
+
+        private Builder(Year first, Year last) {
+            if (last.isBefore(first))
+                throw new IllegalArgumentException("'last' must not be before 'first' (first is '" + first + "', last is '" + last + "')");
+            this.first = first.atDay(1);
+            this.end = last.plusYears(1).atDay(1);
+        }
+
+        /**
+         * Replaces the days of the weekend (saturday and sunday by default).
+         *
+         * @param days the days of the weekend
+         * @return this builder
+         */
+        public Builder weekend(DayOfWeek... days) {
+            weekend.clear();
+            weekend.addAll(Arrays.asList(days));
+            return this;
+        }
+
+        /**
+         * Adds a holiday. Holidays outside the years of the calendar are ignored.
+         *
+         * @param date a holiday
+         * @return this builder
+         */
+        public Builder holiday(LocalDate date) {
+            holidays.add(Objects.requireNonNull(date));
+            return this;
+        }
+
+        public Builder holidays(Collection<LocalDate> dates) {
+            for (LocalDate date : dates)
+                holiday(date);
+            return this;
+        }
+
+        public BusinessCalendar build() {
+            long firstDay = first.toEpochDay();
+            int days = (int) (end.toEpochDay() - firstDay);
+            long[] bits = new long[words(days)];
+            boolean[] working = new boolean[7];
+            for (DayOfWeek day : DayOfWeek.values())
+                working[day.ordinal()] = ! weekend.contains(day);
+            int dayOfWeek = first.getDayOfWeek().ordinal();
+            for (int i = 0; i < days; i++) {
+                if (working[dayOfWeek])
+                    bits[i >>> 6] |= 1L << i;
+                dayOfWeek = dayOfWeek == 6 ? 0 : dayOfWeek + 1;
+            }
+            for (LocalDate holiday : holidays) {
+                long i = holiday.toEpochDay() - firstDay;
+                if (i >= 0 && i < days)
+                    bits[(int) (i >>> 6)] &= ~(1L << i);
+            }
+            return new BusinessCalendar(firstDay, days, bits);
+        }
+
+    }
+
+}
@@ -0,0 +1,196 @@
+package themissingobjects.time;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.stream.LongStream;
+
+/**
+ * Represents an interval of {@code LocalDate}s stored as days from the epoch.
+ *
+ * <p>
+ * This is a specialization of {@link Interval} where all operations are plain comparisons of {@code long}s
+ * and they never allocate.
+ * </p>
+ * <p>
+ * Like {@link Interval}, the beginning is inclusive and the end is exclusive.
+ * An open beginning is represented by {@link Long#MIN_VALUE} and an open end by {@link Long#MAX_VALUE}.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class EpochDayInterval implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final long from;
+    private final long to;
+
+    private EpochDayInterval(long from, long to) {
+        if (from >= to)
+            throw new IllegalArgumentException("'to' must be greater than 'from' (from is '" + from + "', to is '" + to + "')");
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns an interval between the specified days from the epoch.
+     *
+     * @param fromEpochDay the beginning (inclusive)
+     * @param toEpochDay the end (exclusive)
+     * @return an interval
+     */
+    public static EpochDayInterval between(long fromEpochDay, long toEpochDay) {
+        return new EpochDayInterval(fromEpochDay, toEpochDay);
+    }
+
+    public static EpochDayInterval beginningFrom(long fromEpochDay) {
+        return new EpochDayInterval(fromEpochDay, Long.MAX_VALUE);
+    }
+
+    public static EpochDayInterval endingTo(long toEpochDay) {
+        return new EpochDayInterval(Long.MIN_VALUE, toEpochDay);
+    }
+
+    /**
+     * Returns the interval equivalent to the specified one.
+     *
+     * @param interval an interval
+     * @return an interval
+     */
+    public static EpochDayInterval of(Interval<LocalDate> interval) {
+        long from = interval.from() == null ? Long.MIN_VALUE : interval.from().toEpochDay();
+        long to = interval.to() == null ? Long.MAX_VALUE : interval.to().toEpochDay();
+        return new EpochDayInterval(from, to);
+    }
+
+    /**
+     * Returns the beginning as days from the epoch.
+     * @return the beginning (inclusive) or {@link Long#MIN_VALUE} if this interval is open on its beginning
+     */
+    public long from() {
+        return from;
+    }
+
+    /**
+     * Returns the end as days from the epoch.
+     * @return the end (exclusive) or {@link Long#MAX_VALUE} if this interval is open on its end
+     */
+    public long to() {
+        return to;
+    }
+
+    public boolean hasBeginning() {
+        return from != Long.MIN_VALUE;
+    }
+
+    public boolean hasEnd() {
+        return to != Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns {@code true} if the specified day from the epoch is contained in this interval.
+     * @param epochDay a day from the epoch
+     * @return {@code true} if the specified day is contained in this interval, otherwise {@code false}
+     */
+    public boolean contains(long epochDay) {
+        return epochDay >= from && epochDay < to;
+    }
+
+    /**
+     * Returns {@code true} if the specified date is contained in this interval.
+     * @param date a date
+     * @return {@code true} if the specified date is contained in this interval, otherwise {@code false}
+     */
+    public boolean contains(LocalDate date) {
+        return contains(date.toEpochDay());
+    }
+
+    /**
+     * Returns {@code true} if this interval and the specified one have at least one day in common.
+     * @param that another interval
+     * @return {@code true} if the intervals overlap, otherwise {@code false}
+     */
+    public boolean overlaps(EpochDayInterval that) {
+        return from < that.to && that.from < to;
+    }
+
+    /**
+     * Returns the days in common between this interval and the specified one.
+     * @param that another interval
+     * @return the intersection of the intervals
+     * @throws IllegalArgumentException if the intervals do not overlap
+     */
+    public EpochDayInterval intersection(EpochDayInterval that) {
+        if (! overlaps(that))
+            throw new IllegalArgumentException("intervals must overlap (found " + this + " and " + that + ")");
+        return new EpochDayInterval(Math.max(from, that.from), Math.min(to, that.to));
+    }
+
+    /**
+     * Returns the smallest interval containing both this interval and the specified one.
+     * @param that another interval
+     * @return the span of the intervals
+     */
+    public EpochDayInterval span(EpochDayInterval that) {
+        return new EpochDayInterval(Math.min(from, that.from), Math.max(to, that.to));
+    }
+
+    /**
+     * Returns the beginnings of the consecutive slices of this interval lasting the specified days.
+     *
+     * <p>
+     * Slice {@code i} goes from {@code from() + i * stepDays} (inclusive) to {@code min(from() + (i + 1) * stepDays, to())} (exclusive).
+     * Slices are not materialized as objects and the returned stream can be split evenly by parallel streams.
+     * </p>
+     *
+     * @param stepDays the length of every slice in days
+     * @return the beginnings of the slices
+     * @throws IllegalStateException if this interval is open
+     * @see Interval#slices(java.time.temporal.TemporalUnit)
+     */
+    public LongStream slices(long stepDays) {
+        if (stepDays <= 0)
+            throw new IllegalArgumentException("'stepDays' must be positive (found " + stepDays + ")");
+        if (! hasBeginning() || ! hasEnd())
+            throw new IllegalStateException("an open interval cannot be sliced (found " + this + ")");
+
+        long length = Math.subtractExact(to, from);
+        long count = length / stepDays + (length % stepDays == 0 ? 0 : 1);
+        return LongStream.range(0, count).map(i -> from + i * stepDays);
+    }
+
+    /**
+     * Returns the equivalent {@link Interval}.
+     * @return an {@link Interval}
+     * @throws IllegalStateException if this interval is open on both sides
+     */
+    public Interval<LocalDate> toInterval() {
+        if (! hasBeginning() && ! hasEnd())
+            throw new IllegalStateException("an interval open on both sides cannot be represented by Interval (found " + this + ")");
+        if (! hasBeginning())
+            return Interval.endingTo(LocalDate.ofEpochDay(to));
+        if (! hasEnd())
+            return Interval.beginningFrom(LocalDate.ofEpochDay(from));
+        return Interval.between(LocalDate.ofEpochDay(from), LocalDate.ofEpochDay(to));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        EpochDayInterval that = (EpochDayInterval) o;
+        return from == that.from && to == that.to;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(from) + Long.hashCode(to);
+    }
+
+    @Override
+    public String toString() {
+        return (hasBeginning() ? LocalDate.ofEpochDay(from).toString() : "..") + "/" + (hasEnd() ? LocalDate.ofEpochDay(to).toString() : "..");
+    }
+
+}
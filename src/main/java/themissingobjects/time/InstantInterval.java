@@ -0,0 +1,220 @@
+package themissingobjects.time;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.util.stream.LongStream;
+
+/**
+ * Represents an interval of {@code Instant}s stored as nanoseconds from the epoch.
+ *
+ * <p>
+ * This is a specialization of {@link Interval} for code filtering huge amounts of events by time:
+ * all operations are plain comparisons of {@code long}s, they never allocate and they work at nanosecond resolution.
+ * </p>
+ * <p>
+ * Like {@link Interval}, the beginning is inclusive and the end is exclusive.
+ * An open beginning is represented by {@link Long#MIN_VALUE} and an open end by {@link Long#MAX_VALUE},
+ * so the instants representable are the ones between years 1677 and 2262.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class InstantInterval implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final long from;
+    private final long to;
+
+    private InstantInterval(long from, long to) {
+        if (from >= to)
+            throw new IllegalArgumentException("'to' must be greater than 'from' (from is '" + from + "', to is '" + to + "')");
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Returns an interval between the specified nanoseconds from the epoch.
+     *
+     * @param fromEpochNanos the beginning (inclusive)
+     * @param toEpochNanos the end (exclusive)
+     * @return an interval
+     */
+    public static InstantInterval between(long fromEpochNanos, long toEpochNanos) {
+        return new InstantInterval(fromEpochNanos, toEpochNanos);
+    }
+
+    public static InstantInterval beginningFrom(long fromEpochNanos) {
+        return new InstantInterval(fromEpochNanos, Long.MAX_VALUE);
+    }
+
+    public static InstantInterval endingTo(long toEpochNanos) {
+        return new InstantInterval(Long.MIN_VALUE, toEpochNanos);
+    }
+
+    /**
+     * Returns the interval equivalent to the specified one.
+     *
+     * @param interval an interval
+     * @return an interval
+     * @throws ArithmeticException if an instant cannot be represented as nanoseconds from the epoch
+     */
+    public static InstantInterval of(Interval<Instant> interval) {
+        long from = interval.from() == null ? Long.MIN_VALUE : epochNanos(interval.from());
+        long to = interval.to() == null ? Long.MAX_VALUE : epochNanos(interval.to());
+        return new InstantInterval(from, to);
+    }
+
+    /**
+     * Returns the nanoseconds from the epoch of the specified instant.
+     *
+     * @param instant an instant
+     * @return the nanoseconds from the epoch
+     * @throws ArithmeticException if the instant cannot be represented as nanoseconds from the epoch
+     */
+    public static long epochNanos(Instant instant) {
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND), instant.getNano());
+    }
+
+    /**
+     * Returns the beginning as nanoseconds from the epoch.
+     * @return the beginning (inclusive) or {@link Long#MIN_VALUE} if this interval is open on its beginning
+     */
+    public long from() {
+        return from;
+    }
+
+    /**
+     * Returns the end as nanoseconds from the epoch.
+     * @return the end (exclusive) or {@link Long#MAX_VALUE} if this interval is open on its end
+     */
+    public long to() {
+        return to;
+    }
+
+    public boolean hasBeginning() {
+        return from != Long.MIN_VALUE;
+    }
+
+    public boolean hasEnd() {
+        return to != Long.MAX_VALUE;
+    }
+
+    /**
+     * Returns {@code true} if the specified nanoseconds from the epoch are contained in this interval.
+     * @param epochNanos nanoseconds from the epoch
+     * @return {@code true} if the specified nanoseconds from the epoch are contained in this interval, otherwise {@code false}
+     */
+    public boolean contains(long epochNanos) {
+        return epochNanos >= from && epochNanos < to;
+    }
+
+    /**
+     * Returns {@code true} if the specified instant is contained in this interval.
+     * @param instant an instant
+     * @return {@code true} if the specified instant is contained in this interval, otherwise {@code false}
+     */
+    public boolean contains(Instant instant) {
+        long seconds = instant.getEpochSecond();
+        if (seconds < Long.MIN_VALUE / NANOS_PER_SECOND)
+            return ! hasBeginning();
+        if (seconds > Long.MAX_VALUE / NANOS_PER_SECOND - 1)
+            return ! hasEnd();
+        return contains(seconds * NANOS_PER_SECOND + instant.getNano());
+    }
+
+    /**
+     * Returns {@code true} if this interval and the specified one have at least one instant in common.
+     * @param that another interval
+     * @return {@code true} if the intervals overlap, otherwise {@code false}
+     */
+    public boolean overlaps(InstantInterval that) {
+        return from < that.to && that.from < to;
+    }
+
+    /**
+     * Returns the instants in common between this interval and the specified one.
+     * @param that another interval
+     * @return the intersection of the intervals
+     * @throws IllegalArgumentException if the intervals do not overlap
+     */
+    public InstantInterval intersection(InstantInterval that) {
+        if (! overlaps(that))
+            throw new IllegalArgumentException("intervals must overlap (found " + this + " and " + that + ")");
+        return new InstantInterval(Math.max(from, that.from), Math.min(to, that.to));
+    }
+
+    /**
+     * Returns the smallest interval containing both this interval and the specified one.
+     * @param that another interval
+     * @return the span of the intervals
+     */
+    public InstantInterval span(InstantInterval that) {
+        return new InstantInterval(Math.min(from, that.from), Math.max(to, that.to));
+    }
+
+    /**
+     * Returns the beginnings of the consecutive slices of this interval lasting the specified nanoseconds.
+     *
+     * <p>
+     * Slice {@code i} goes from {@code from() + i * stepNanos} (inclusive) to {@code min(from() + (i + 1) * stepNanos, to())} (exclusive).
+     * Slices are not materialized as objects and the returned stream can be split evenly by parallel streams.
+     * </p>
+     *
+     * @param stepNanos the length of every slice in nanoseconds
+     * @return the beginnings of the slices
+     * @throws IllegalStateException if this interval is open
+     * @see Interval#slices(java.time.temporal.TemporalUnit)
+     */
+    public LongStream slices(long stepNanos) {
+        if (stepNanos <= 0)
+            throw new IllegalArgumentException("'stepNanos' must be positive (found " + stepNanos + ")");
+        if (! hasBeginning() || ! hasEnd())
+            throw new IllegalStateException("an open interval cannot be sliced (found " + this + ")");
+
+        long length = Math.subtractExact(to, from);
+        long count = length / stepNanos + (length % stepNanos == 0 ? 0 : 1);
+        return LongStream.range(0, count).map(i -> from + i * stepNanos);
+    }
+
+    /**
+     * Returns the equivalent {@link Interval}.
+     * @return an {@link Interval}
+     * @throws IllegalStateException if this interval is open on both sides
+     */
+    public Interval<Instant> toInterval() {
+        if (! hasBeginning() && ! hasEnd())
+            throw new IllegalStateException("an interval open on both sides cannot be represented by Interval (found " + this + ")");
+        if (! hasBeginning())
+            return Interval.endingTo(instant(to));
+        if (! hasEnd())
+            return Interval.beginningFrom(instant(from));
+        return Interval.between(instant(from), instant(to));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        InstantInterval that = (InstantInterval) o;
+        return from == that.from && to == that.to;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(from) + Long.hashCode(to);
+    }
+
+    @Override
+    public String toString() {
+        return (hasBeginning() ? instant(from).toString() : "..") + "/" + (hasEnd() ? instant(to).toString() : "..");
+    }
+
+    private static Instant instant(long epochNanos) {
+        return Instant.ofEpochSecond(Math.floorDiv(epochNanos, NANOS_PER_SECOND), Math.floorMod(epochNanos, NANOS_PER_SECOND));
+    }
+
+}
@@ -1,6 +1,7 @@
 package themissingobjects.time;
 
 import java.io.Serializable;
+import java.math.BigInteger;
 import java.time.*;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
@@ -8,6 +9,8 @@ import java.time.temporal.TemporalUnit;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 // TODO add union: the intervals must be connected
 // TODO add intersection: the intervals must be connected
@@ -46,27 +49,36 @@ public class Interval<T extends Temporal> implements Serializable {
     private final T to;
 
     private Interval(T from, T to) {
-        if (from != null && to != null) {
-            TemporalUnit temporalUnit = TEMPORAL_UNIT_BY_TEMPORAL.get(to.getClass());
-            if (from.until(to, temporalUnit) <= 0)
-                throw new IllegalArgumentException("'to' must be greater than 'from' (from is '" + from + "', to is '" + to + "')");
-        } else if (from == null && to == null)
-            throw new IllegalArgumentException("At least one between 'from' and 'to' is required (from is '" + from + "', to is '" + to + "')");
-
         this.from = from;
         this.to = to;
     }
 
     public static <T extends Temporal> Interval<T> between(T from, T to) {
-        return new Interval<T>(from, to);
+        return checked(from, to);
     }
 
     public static <T extends Temporal> Interval<T> beginningFrom(T from) {
-        return new Interval<T>(from, null);
+        return checked(from, null);
     }
 
     public static <T extends Temporal> Interval<T> endingTo(T to) {
-        return new Interval<T>(null, to);
+        return checked(null, to);
+    }
+
+    /**
+     * Returns the beginning of this interval (inclusive).
+     * @return the beginning of this interval or {@code null} if this interval is open on its beginning
+     */
+    public T from() {
+        return from;
+    }
+
+    /**
+     * Returns the end of this interval (exclusive).
+     * @return the end of this interval or {@code null} if this interval is open on its end
+     */
+    public T to() {
+        return to;
     }
 
     /**
@@ -89,6 +101,74 @@ public class Interval<T extends Temporal> implements Serializable {
         }
     }
 
+    /**
+     * Returns the consecutive slices of this interval having the specified length.
+     *
+     * <p>
+     * For example slicing {@code 2020-01-01/2020-03-15} by {@code MONTHS} returns {@code 2020-01-01/2020-02-01},
+     * {@code 2020-02-01/2020-03-01} and {@code 2020-03-01/2020-03-15}: the last slice is shorter when the length
+     * of this interval is not a multiple of the length of slices.
+     * </p>
+     * <p>
+     * Slices are created lazily and the boundaries of every slice are computed adding a multiple of the length to the
+     * beginning of this interval, so the returned stream can be split evenly by parallel streams.
+     * </p>
+     *
+     * @param unit the length of every slice
+     * @return the slices of this interval
+     * @throws IllegalStateException if this interval is open
+     * @see InstantInterval#slices(long)
+     */
+    public Stream<Interval<T>> slices(TemporalUnit unit) {
+        return slices(1, unit);
+    }
+
+    /**
+     * Returns the consecutive slices of this interval having the specified length.
+     *
+     * @param amount the length of every slice, measured in terms of the unit
+     * @param unit the unit of the length
+     * @return the slices of this interval
+     * @throws IllegalStateException if this interval is open
+     * @see #slices(TemporalUnit)
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Interval<T>> slices(long amount, TemporalUnit unit) {
+        if (amount <= 0)
+            throw new IllegalArgumentException("'amount' must be positive (found " + amount + ")");
+        ensureBounded();
+
+        long count = from.until(to, unit) / amount;
+        if (isBefore(from.plus(count * amount, unit), to))
+            count++;
+        return LongStream.range(0, count)
+                .mapToObj(i -> slice((T) from.plus(i * amount, unit), (T) from.plus((i + 1) * amount, unit)));
+    }
+
+    /**
+     * Returns the consecutive slices of this interval having the specified duration.
+     *
+     * @param duration the duration of every slice
+     * @return the slices of this interval
+     * @throws IllegalStateException if this interval is open
+     * @throws IllegalArgumentException if the temporals of this interval are not time-based (e.g. {@code LocalDate}
+     *                                  or {@code Year}: slice them by {@link #slices(TemporalUnit)}), or the slices
+     *                                  would be more than {@code Long.MAX_VALUE}
+     * @see #slices(TemporalUnit)
+     */
+    @SuppressWarnings("unchecked")
+    public Stream<Interval<T>> slices(Duration duration) {
+        if (duration.isNegative() || duration.isZero())
+            throw new IllegalArgumentException("'duration' must be positive (found " + duration + ")");
+        ensureBounded();
+        if (! from.isSupported(ChronoUnit.NANOS))
+            throw new IllegalArgumentException("an interval must have time-based temporals to be sliced by a duration (found " + this + ")");
+
+        long count = count(Duration.between(from, to), duration);
+        return LongStream.range(0, count)
+                .mapToObj(i -> slice((T) from.plus(duration.multipliedBy(i)), i + 1 == count ? to : (T) from.plus(duration.multipliedBy(i + 1))));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -108,6 +188,48 @@ public class Interval<T extends Temporal> implements Serializable {
         return Objects.toString(from, "..") + "/" + Objects.toString(to, "..");
     }
 
+    private static <T extends Temporal> Interval<T> checked(T from, T to) {
+        if (from != null && to != null) {
+            TemporalUnit temporalUnit = TEMPORAL_UNIT_BY_TEMPORAL.get(to.getClass());
+            if (from.until(to, temporalUnit) <= 0)
+                throw new IllegalArgumentException("'to' must be greater than 'from' (from is '" + from + "', to is '" + to + "')");
+        } else if (from == null && to == null)
+            throw new IllegalArgumentException("At least one between 'from' and 'to' is required (from is '" + from + "', to is '" + to + "')");
+
+        return new Interval<T>(from, to);
+    }
+
+    /**
+     * Returns the number of slices of the specified duration needed to cover the specified total.
+     */
+    private static long count(Duration total, Duration slice) {
+        // NOTE: nanoseconds of intervals longer than 292 years do not fit in a long
+        BigInteger[] quotientAndRemainder = nanos(total).divideAndRemainder(nanos(slice));
+        BigInteger count = quotientAndRemainder[1].signum() == 0 ? quotientAndRemainder[0] : quotientAndRemainder[0].add(BigInteger.ONE);
+        if (count.bitLength() > 63)
+            throw new IllegalArgumentException("'duration' is too short to slice the interval (found " + slice + ")");
+        return count.longValue();
+    }
+
+    private static BigInteger nanos(Duration duration) {
+        return BigInteger.valueOf(duration.getSeconds()).multiply(BigInteger.valueOf(1_000_000_000L)).add(BigInteger.valueOf(duration.getNano()));
+    }
+
+    private void ensureBounded() {
+        if (from == null || to == null)
+            throw new IllegalStateException("an open interval cannot be sliced (found " + this + ")");
+    }
+
+    private Interval<T> slice(T sliceFrom, T sliceTo) {
+        // NOTE: slices are inside this interval by construction, so they do not need to be checked again
+        return new Interval<T>(sliceFrom, isBefore(sliceTo, to) ? sliceTo : to);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean isBefore(Temporal a, Temporal b) {
+        return ((Comparable<Temporal>) a).compareTo(b) < 0;
+    }
+
     private static Map<Class<? extends Temporal>, ChronoUnit> newTemporalUnitByTemporal() {
         Map<Class<? extends Temporal>, ChronoUnit> map = new HashMap<>();
         map.put(Year.class, ChronoUnit.YEARS);
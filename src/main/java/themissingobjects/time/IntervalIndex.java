@@ -0,0 +1,227 @@
+package themissingobjects.time;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Represents an immutable index of values associated to intervals of {@code Instant}s.
+ *
+ * <p>
+ * The index answers <i>stabbing</i> queries (all values whose interval contains an instant) and
+ * <i>overlap</i> queries (all values whose interval has at least one instant in common with another interval)
+ * without scanning all the intervals.
+ * </p>
+ * <p>
+ * Intervals are stored as nanoseconds from the epoch (see {@link InstantInterval}) in primitive arrays sorted by
+ * their beginning. The sorted arrays are seen as an implicit balanced binary tree where every node knows the maximum
+ * end of its subtree, so a query skips the subtrees that cannot contain a result: the cost is
+ * {@code O(min(n, (k + 1) log n))}, where {@code k} is the number of results ({@code O(log n)} when there is none).
+ * </p>
+ * <p>
+ * Open intervals ({@link Interval#beginningFrom(java.time.temporal.Temporal)} and {@link Interval#endingTo(java.time.temporal.Temporal)})
+ * are supported. This class is thread safe.
+ * </p>
+ *
+ * @param <V> the type of values
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class IntervalIndex<V> {
+
+    private final long[] starts;
+    private final long[] ends;
+    private final long[] maxEnds;
+    private final Object[] values;
+
+    private IntervalIndex(long[] starts, long[] ends, Object[] values) {
+        this.starts = starts;
+        this.ends = ends;
+        this.values = values;
+        this.maxEnds = new long[starts.length];
+        computeMaxEnds(0, starts.length);
+    }
+
+    /**
+     * Returns a builder of an index.
+     *
+     * @param <V> the type of values
+     * @return a builder
+     */
+    public static <V> Builder<V> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns the number of intervals.
+     * @return the number of intervals
+     */
+    public int size() {
+        return starts.length;
+    }
+
+    /**
+     * Passes to the specified consumer the values whose interval contains the specified instant.
+     *
+     * <p>
+     * As {@link InstantInterval#contains(Instant)}, an instant out of the range of nanoseconds from the epoch is
+     * contained only in the intervals open on the same side.
+     * </p>
+     *
+     * @param instant an instant
+     * @param consumer a consumer of values
+     */
+    public void stab(Instant instant, Consumer<? super V> consumer) {
+        long seconds = instant.getEpochSecond();
+        if (seconds < Long.MIN_VALUE / InstantInterval.NANOS_PER_SECOND)
+            stab(Long.MIN_VALUE, consumer);
+        else if (seconds > Long.MAX_VALUE / InstantInterval.NANOS_PER_SECOND - 1)
+            // NOTE: the last nanosecond before Long.MAX_VALUE is contained only in the intervals open on their end
+            stab(Long.MAX_VALUE - 1, consumer);
+        else
+            stab(seconds * InstantInterval.NANOS_PER_SECOND + instant.getNano(), consumer);
+    }
+
+    /**
+     * Passes to the specified consumer the values whose interval contains the specified nanoseconds from the epoch.
+     *
+     * @param epochNanos nanoseconds from the epoch
+     * @param consumer a consumer of values
+     */
+    public void stab(long epochNanos, Consumer<? super V> consumer) {
+        if (epochNanos == Long.MAX_VALUE)
+            return;
+        query(0, starts.length, epochNanos, epochNanos + 1, consumer);
+    }
+
+    /**
+     * Returns the values whose interval contains the specified instant, ordered by the beginning of their interval.
+     *
+     * @param instant an instant
+     * @return the values found
+     */
+    public List<V> stab(Instant instant) {
+        List<V> found = new ArrayList<>();
+        stab(instant, found::add);
+        return found;
+    }
+
+    /**
+     * Passes to the specified consumer the values whose interval overlaps the specified one.
+     *
+     * @param interval an interval
+     * @param consumer a consumer of values
+     */
+    public void overlapping(Interval<Instant> interval, Consumer<? super V> consumer) {
+        overlapping(InstantInterval.of(interval), consumer);
+    }
+
+    /**
+     * Passes to the specified consumer the values whose interval overlaps the specified one.
+     *
+     * @param interval an interval
+     * @param consumer a consumer of values
+     */
+    public void overlapping(InstantInterval interval, Consumer<? super V> consumer) {
+        query(0, starts.length, interval.from(), interval.to(), consumer);
+    }
+
+    /**
+     * Returns the values whose interval overlaps the specified one, ordered by the beginning of their interval.
+     *
+     * @param interval an interval
+     * @return the values found
+     */
+    public List<V> overlapping(Interval<Instant> interval) {
+        List<V> found = new ArrayList<>();
+        overlapping(interval, found::add);
+        return found;
+    }
+
+    private long computeMaxEnds(int lo, int hi) {
+        if (lo >= hi)
+            return Long.MIN_VALUE;
+        int mid = (lo + hi) >>> 1;
+        long max = Math.max(ends[mid], Math.max(computeMaxEnds(lo, mid), computeMaxEnds(mid + 1, hi)));
+        maxEnds[mid] = max;
+        return max;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void query(int lo, int hi, long from, long to, Consumer<? super V> consumer) {
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (maxEnds[mid] <= from)
+                return;
+            query(lo, mid, from, to, consumer);
+            if (starts[mid] >= to)
+                return;
+            if (ends[mid] > from)
+                consumer.accept((V) values[mid]);
+            lo = mid + 1;
+        }
+    }
+
+    /**
+     * Represents a builder of {@link IntervalIndex}.
+     *
+     * <p>
+     * When intervals are added already sorted by their beginning, the build does not sort them again.
+     * </p>
+     *
+     * @param <V> the type of values
+     */
+    public static final class Builder<V> {
+
+        private long[] starts = new long[16];
+        private long[] ends = new long[16];
+        private Object[] values = new Object[16];
+        private int size;
+        private boolean sorted = true;
+
+        private Builder() { }
+
+        public Builder<V> add(Interval<Instant> interval, V value) {
+            return add(InstantInterval.of(interval), value);
+        }
+
+        public Builder<V> add(InstantInterval interval, V value) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                values = Arrays.copyOf(values, size * 2);
+            }
+            if (size > 0 && interval.from() < starts[size - 1])
+                sorted = false;
+            starts[size] = interval.from();
+            ends[size] = interval.to();
+            values[size] = value;
+            size++;
+            return this;
+        }
+
+        public IntervalIndex<V> build() {
+            if (sorted)
+                return new IntervalIndex<>(Arrays.copyOf(starts, size), Arrays.copyOf(ends, size), Arrays.copyOf(values, size));
+
+            long[] sortedStarts = Arrays.copyOf(starts, size);
+            int[] indexes = new int[size];
+            for (int i = 0; i < size; i++)
+                indexes[i] = i;
+            Sorting.sort(sortedStarts, indexes, size);
+
+            long[] sortedEnds = new long[size];
+            Object[] sortedValues = new Object[size];
+            for (int i = 0; i < size; i++) {
+                sortedEnds[i] = ends[indexes[i]];
+                sortedValues[i] = values[indexes[i]];
+            }
+            return new IntervalIndex<>(sortedStarts, sortedEnds, sortedValues);
+        }
+
+    }
+
+}
@@ -0,0 +1,195 @@
+package themissingobjects.time;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Represents a join between two collections of objects related to intervals of {@code Instant}s.
+ *
+ * <p>
+ * Every pair of objects whose intervals overlap is passed to a callback. Instead of checking every object of a side
+ * against every object of the other side ({@code O(n·m)}), both sides are sorted by the beginning of their intervals
+ * and a sweep line keeps only the intervals still open at the current instant, so the cost is
+ * {@code O((n + m) log(n + m))} plus the number of matches.
+ * </p>
+ * <p>
+ * A join can be partitioned by a key (such as a {@code CurrencyPair}): only objects with the same key are matched and
+ * partitions are joined in parallel. In this case the callback is invoked concurrently by different threads.
+ * </p>
+ * <p>
+ * For example, to match trades with the rates valid at their time:
+ * </p>
+ * <code>
+ *     IntervalJoin.&lt;Trade, Rate&gt;ofPoints(Trade::time, Rate::validity)<br>
+ *     &nbsp;&nbsp;&nbsp;&nbsp;.partitionedBy(Trade::pair, Rate::pair)<br>
+ *     &nbsp;&nbsp;&nbsp;&nbsp;.run(trades, rates, (trade, rate) -&gt; ...);<br>
+ * </code>
+ *
+ * @param <L> the type of objects on the left side
+ * @param <R> the type of objects on the right side
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class IntervalJoin<L, R> {
+
+    private final Function<? super L, InstantInterval> leftInterval;
+    private final Function<? super R, InstantInterval> rightInterval;
+    private final Function<? super L, ?> leftKey;
+    private final Function<? super R, ?> rightKey;
+
+    private IntervalJoin(Function<? super L, InstantInterval> leftInterval, Function<? super R, InstantInterval> rightInterval, Function<? super L, ?> leftKey, Function<? super R, ?> rightKey) {
+        this.leftInterval = Objects.requireNonNull(leftInterval);
+        this.rightInterval = Objects.requireNonNull(rightInterval);
+        this.leftKey = leftKey;
+        this.rightKey = rightKey;
+    }
+
+    /**
+     * Returns a join between objects related to intervals.
+     *
+     * @param leftInterval the function returning the interval of an object on the left side
+     * @param rightInterval the function returning the interval of an object on the right side
+     * @param <L> the type of objects on the left side
+     * @param <R> the type of objects on the right side
+     * @return a join
+     */
+    public static <L, R> IntervalJoin<L, R> of(Function<? super L, Interval<Instant>> leftInterval, Function<? super R, Interval<Instant>> rightInterval) {
+        return new IntervalJoin<>(l -> InstantInterval.of(leftInterval.apply(l)), r -> InstantInterval.of(rightInterval.apply(r)), null, null);
+    }
+
+    /**
+     * Returns a join between objects related to an instant (on the left side) and objects related to intervals (on the right side).
+     *
+     * @param leftInstant the function returning the instant of an object on the left side
+     * @param rightInterval the function returning the interval of an object on the right side
+     * @param <L> the type of objects on the left side
+     * @param <R> the type of objects on the right side
+     * @return a join
+     */
+    public static <L, R> IntervalJoin<L, R> ofPoints(Function<? super L, Instant> leftInstant, Function<? super R, Interval<Instant>> rightInterval) {
+        return new IntervalJoin<>(l -> point(leftInstant.apply(l)), r -> InstantInterval.of(rightInterval.apply(r)), null, null);
+    }
+
+    /**
+     * Returns a join matching only objects having the same key, executed in parallel on every key.
+     *
+     * @param leftKey the function returning the key of an object on the left side
+     * @param rightKey the function returning the key of an object on the right side
+     * @return a partitioned join
+     */
+    public IntervalJoin<L, R> partitionedBy(Function<? super L, ?> leftKey, Function<? super R, ?> rightKey) {
+        return new IntervalJoin<>(leftInterval, rightInterval, Objects.requireNonNull(leftKey), Objects.requireNonNull(rightKey));
+    }
+
+    /**
+     * Passes to the specified callback every pair of objects whose intervals overlap.
+     *
+     * @param left the objects on the left side
+     * @param right the objects on the right side
+     * @param matches the callback receiving the pairs (invoked concurrently if this join is partitioned)
+     */
+    public void run(Collection<? extends L> left, Collection<? extends R> right, BiConsumer<? super L, ? super R> matches) {
+        if (leftKey == null) {
+            sweep(new Side<>(left, leftInterval), new Side<>(right, rightInterval), matches);
+            return;
+        }
+
+        Map<Object, List<L>> leftPartitions = partition(left, leftKey);
+        Map<Object, List<R>> rightPartitions = partition(right, rightKey);
+        leftPartitions.keySet().retainAll(rightPartitions.keySet());
+        leftPartitions.entrySet().parallelStream().forEach(e ->
+                sweep(new Side<>(e.getValue(), leftInterval), new Side<>(rightPartitions.get(e.getKey()), rightInterval), matches));
+    }
+
+    private static <T> Map<Object, List<T>> partition(Collection<? extends T> items, Function<? super T, ?> key) {
+        Map<Object, List<T>> partitions = new HashMap<>();
+        for (T item : items)
+            partitions.computeIfAbsent(key.apply(item), k -> new ArrayList<>()).add(item);
+        return partitions;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void sweep(Side<L> left, Side<R> right, BiConsumer<? super L, ? super R> matches) {
+        int[] activeLeft = new int[16];
+        int[] activeRight = new int[16];
+        int activeLefts = 0;
+        int activeRights = 0;
+
+        int i = 0;
+        int j = 0;
+        while (i < left.size || j < right.size) {
+            if (j >= right.size || (i < left.size && left.starts[i] <= right.starts[j])) {
+                activeRights = prune(right, activeRight, activeRights, left.starts[i]);
+                L l = (L) left.items[i];
+                for (int k = 0; k < activeRights; k++)
+                    matches.accept(l, (R) right.items[activeRight[k]]);
+                if (activeLefts == activeLeft.length)
+                    activeLeft = Arrays.copyOf(activeLeft, activeLefts * 2);
+                activeLeft[activeLefts++] = i++;
+            } else {
+                activeLefts = prune(left, activeLeft, activeLefts, right.starts[j]);
+                R r = (R) right.items[j];
+                for (int k = 0; k < activeLefts; k++)
+                    matches.accept((L) left.items[activeLeft[k]], r);
+                if (activeRights == activeRight.length)
+                    activeRight = Arrays.copyOf(activeRight, activeRights * 2);
+                activeRight[activeRights++] = j++;
+            }
+        }
+    }
+
+    /**
+     * Removes from the active positions the intervals ending before the specified instant and returns the new number of active positions.
+     */
+    private static int prune(Side<?> side, int[] active, int size, long epochNanos) {
+        int kept = 0;
+        for (int k = 0; k < size; k++)
+            if (side.ends[active[k]] > epochNanos)
+                active[kept++] = active[k];
+        return kept;
+    }
+
+    private static InstantInterval point(Instant instant) {
+        long epochNanos = InstantInterval.epochNanos(instant);
+        return InstantInterval.between(epochNanos, epochNanos + 1);
+    }
+
+    /**
+     * Represents the objects of a side sorted by the beginning of their interval.
+     */
+    private static final class Side<T> {
+
+        private final int size;
+        private final long[] starts;
+        private final long[] ends;
+        private final Object[] items;
+
+        private Side(Collection<? extends T> collection, Function<? super T, InstantInterval> interval) {
+            Object[] unsorted = collection.toArray();
+            this.size = unsorted.length;
+            long[] unsortedEnds = new long[size];
+            int[] indexes = new int[size];
+            this.starts = new long[size];
+            for (int i = 0; i < size; i++) {
+                @SuppressWarnings("unchecked")
+                InstantInterval bounds = interval.apply((T) unsorted[i]);
+                starts[i] = bounds.from();
+                unsortedEnds[i] = bounds.to();
+                indexes[i] = i;
+            }
+            Sorting.sort(starts, indexes, size);
+
+            this.ends = new long[size];
+            this.items = new Object[size];
+            for (int i = 0; i < size; i++) {
+                ends[i] = unsortedEnds[indexes[i]];
+                items[i] = unsorted[indexes[i]];
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,352 @@
+package themissingobjects.time;
+
+import java.io.Serializable;
+import java.time.temporal.Temporal;
+import java.util.*;
+
+/**
+ * Represents a set of {@code Temporal}s made by disjoint {@link Interval}s.
+ *
+ * <p>
+ * Intervals are kept sorted and normalized: overlapping or adjacent intervals are merged, so
+ * {@code 2020-01-01/2020-02-01} and {@code 2020-02-01/2020-03-01} become {@code 2020-01-01/2020-03-01}.<br>
+ * Thanks to this representation union, intersection, difference and complement are computed merging the
+ * intervals of the two sets in a single pass, so their cost is {@code O(n + m)}.
+ * </p>
+ * <p>
+ * Open intervals are supported. The complement of an empty set (or the union of {@code ../2020} and {@code 2010/..})
+ * covers all the time line: this set can be handled as any other, but it cannot be represented by {@link Interval}s.
+ * </p>
+ * <p>
+ * An {@code IntervalSet} is immutable. Use a {@link Builder} to add intervals one at a time.
+ * </p>
+ *
+ * @param <T> a Temporal
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class IntervalSet<T extends Temporal & Comparable<? super T>> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final IntervalSet<?> EMPTY = new IntervalSet<>(new Object[0], new Object[0]);
+
+    // NOTE: a null in froms means no beginning, a null in tos means no end
+    private final Object[] froms;
+    private final Object[] tos;
+
+    private IntervalSet(Object[] froms, Object[] tos) {
+        this.froms = froms;
+        this.tos = tos;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T extends Temporal & Comparable<? super T>> IntervalSet<T> empty() {
+        return (IntervalSet<T>) EMPTY;
+    }
+
+    @SafeVarargs
+    public static <T extends Temporal & Comparable<? super T>> IntervalSet<T> of(Interval<T>... intervals) {
+        return of(Arrays.asList(intervals));
+    }
+
+    public static <T extends Temporal & Comparable<? super T>> IntervalSet<T> of(Collection<Interval<T>> intervals) {
+        Builder<T> builder = builder();
+        for (Interval<T> interval : intervals)
+            builder.add(interval);
+        return builder.build();
+    }
+
+    public static <T extends Temporal & Comparable<? super T>> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns the number of disjoint intervals.
+     * @return the number of disjoint intervals
+     */
+    public int size() {
+        return froms.length;
+    }
+
+    public boolean isEmpty() {
+        return froms.length == 0;
+    }
+
+    /**
+     * Returns {@code true} if this set covers all the time line.
+     * @return {@code true} if this set covers all the time line, otherwise {@code false}
+     */
+    public boolean isAll() {
+        return froms.length == 1 && froms[0] == null && tos[0] == null;
+    }
+
+    /**
+     * Returns {@code true} if the specified temporal is contained in this set.
+     * @param t a temporal
+     * @return {@code true} if the specified temporal is contained in this set, otherwise {@code false}
+     */
+    public boolean contains(T t) {
+        int lo = 0;
+        int hi = froms.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            if (froms[mid] != null && from(mid).compareTo(t) > 0)
+                hi = mid - 1;
+            else if (tos[mid] != null && to(mid).compareTo(t) <= 0)
+                lo = mid + 1;
+            else
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the disjoint intervals of this set, sorted.
+     * @return the disjoint intervals of this set
+     * @throws IllegalStateException if this set covers all the time line
+     */
+    public List<Interval<T>> intervals() {
+        if (isAll())
+            throw new IllegalStateException("a set covering all the time line cannot be represented by intervals");
+        List<Interval<T>> intervals = new ArrayList<>(froms.length);
+        for (int i = 0; i < froms.length; i++) {
+            if (froms[i] == null)
+                intervals.add(Interval.endingTo(to(i)));
+            else if (tos[i] == null)
+                intervals.add(Interval.beginningFrom(from(i)));
+            else
+                intervals.add(Interval.between(from(i), to(i)));
+        }
+        return intervals;
+    }
+
+    /**
+     * Returns the temporals contained in this set or in the specified one.
+     * @param that another set
+     * @return the union of the sets
+     */
+    public IntervalSet<T> union(IntervalSet<T> that) {
+        Accumulator result = new Accumulator(froms.length + that.froms.length);
+        int i = 0;
+        int j = 0;
+        while (i < froms.length || j < that.froms.length) {
+            boolean fromThis = j >= that.froms.length || (i < froms.length && compareFroms(froms[i], that.froms[j]) <= 0);
+            if (fromThis) {
+                result.append(froms[i], tos[i]);
+                i++;
+            } else {
+                result.append(that.froms[j], that.tos[j]);
+                j++;
+            }
+        }
+        return result.toSet();
+    }
+
+    /**
+     * Returns the temporals contained both in this set and in the specified one.
+     * @param that another set
+     * @return the intersection of the sets
+     */
+    public IntervalSet<T> intersection(IntervalSet<T> that) {
+        return intersection(froms, tos, that.froms, that.tos);
+    }
+
+    /**
+     * Returns the temporals contained in this set but not in the specified one.
+     * @param that another set
+     * @return the difference of the sets
+     */
+    public IntervalSet<T> difference(IntervalSet<T> that) {
+        IntervalSet<T> complement = that.complement();
+        return intersection(froms, tos, complement.froms, complement.tos);
+    }
+
+    /**
+     * Returns the temporals not contained in this set.
+     * @return the complement of this set
+     */
+    public IntervalSet<T> complement() {
+        Accumulator result = new Accumulator(froms.length + 1);
+        Object previousTo = null;
+        for (int i = 0; i < froms.length; i++) {
+            if (froms[i] != null)
+                result.append(previousTo, froms[i]);
+            previousTo = tos[i];
+        }
+        if (froms.length == 0 || tos[froms.length - 1] != null)
+            result.append(previousTo, null);
+        return result.toSet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        IntervalSet<?> that = (IntervalSet<?>) o;
+        return Arrays.equals(froms, that.froms) && Arrays.equals(tos, that.tos);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(froms) + Arrays.hashCode(tos);
+    }
+
+    @Override
+    public String toString() {
+        StringJoiner joiner = new StringJoiner(", ", "[", "]");
+        for (int i = 0; i < froms.length; i++)
+            joiner.add(Objects.toString(froms[i], "..") + "/" + Objects.toString(tos[i], ".."));
+        return joiner.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private T from(int i) {
+        return (T) froms[i];
+    }
+
+    @SuppressWarnings("unchecked")
+    private T to(int i) {
+        return (T) tos[i];
+    }
+
+    private IntervalSet<T> intersection(Object[] froms1, Object[] tos1, Object[] froms2, Object[] tos2) {
+        Accumulator result = new Accumulator(Math.max(froms1.length, froms2.length));
+        int i = 0;
+        int j = 0;
+        while (i < froms1.length && j < froms2.length) {
+            Object from = compareFroms(froms1[i], froms2[j]) >= 0 ? froms1[i] : froms2[j];
+            Object to = compareTos(tos1[i], tos2[j]) <= 0 ? tos1[i] : tos2[j];
+            if (isBefore(from, to))
+                result.append(from, to);
+            if (compareTos(tos1[i], tos2[j]) <= 0)
+                i++;
+            else
+                j++;
+        }
+        return result.toSet();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(Object a, Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    private static int compareFroms(Object a, Object b) {
+        if (a == null || b == null)
+            return a == b ? 0 : (a == null ? -1 : 1);
+        return compare(a, b);
+    }
+
+    private static int compareTos(Object a, Object b) {
+        if (a == null || b == null)
+            return a == b ? 0 : (a == null ? 1 : -1);
+        return compare(a, b);
+    }
+
+    /**
+     * Returns {@code true} if the specified beginning is before the specified end.
+     */
+    private static boolean isBefore(Object from, Object to) {
+        return from == null || to == null || compare(from, to) < 0;
+    }
+
+    /**
+     * Returns {@code true} if the specified end is before the specified beginning, so that there is a gap between them.
+     */
+    private static boolean endsBefore(Object to, Object from) {
+        return to != null && from != null && compare(to, from) < 0;
+    }
+
+    /**
+     * Collects intervals sorted by beginning, merging the ones overlapping or adjacent to the last one.
+     */
+    private final class Accumulator {
+
+        private Object[] froms;
+        private Object[] tos;
+        private int size;
+
+        private Accumulator(int capacity) {
+            this.froms = new Object[Math.max(capacity, 1)];
+            this.tos = new Object[Math.max(capacity, 1)];
+        }
+
+        private void append(Object from, Object to) {
+            if (size > 0 && ! endsBefore(tos[size - 1], from)) {
+                if (compareTos(to, tos[size - 1]) > 0)
+                    tos[size - 1] = to;
+                return;
+            }
+            if (size == froms.length) {
+                froms = Arrays.copyOf(froms, size * 2);
+                tos = Arrays.copyOf(tos, size * 2);
+            }
+            froms[size] = from;
+            tos[size] = to;
+            size++;
+        }
+
+        private IntervalSet<T> toSet() {
+            return size == 0 ? empty() : new IntervalSet<>(Arrays.copyOf(froms, size), Arrays.copyOf(tos, size));
+        }
+
+    }
+
+    /**
+     * Represents a mutable builder of {@link IntervalSet}.
+     *
+     * <p>
+     * Every interval added is merged with the ones it overlaps or it is adjacent to, so the builder is always
+     * normalized and it does not need to sort intervals when {@link #build()} is called.
+     * </p>
+     *
+     * @param <T> a Temporal
+     */
+    public static final class Builder<T extends Temporal & Comparable<? super T>> {
+
+        private final List<Object> froms = new ArrayList<>();
+        private final List<Object> tos = new ArrayList<>();
+
+        private Builder() { }
+
+        public Builder<T> add(Interval<T> interval) {
+            Object from = interval.from();
+            Object to = interval.to();
+
+            // NOTE: first interval whose end is not before the new beginning (adjacent intervals are merged)
+            int first = 0;
+            int hi = froms.size();
+            while (first < hi) {
+                int mid = (first + hi) >>> 1;
+                if (endsBefore(tos.get(mid), from))
+                    first = mid + 1;
+                else
+                    hi = mid;
+            }
+            // NOTE: first interval whose beginning is after the new end
+            int last = first;
+            while (last < froms.size() && ! endsBefore(to, froms.get(last)))
+                last++;
+
+            if (first < last) {
+                if (compareFroms(froms.get(first), from) < 0)
+                    from = froms.get(first);
+                if (compareTos(tos.get(last - 1), to) > 0)
+                    to = tos.get(last - 1);
+                froms.subList(first, last).clear();
+                tos.subList(first, last).clear();
+            }
+            froms.add(first, from);
+            tos.add(first, to);
+            return this;
+        }
+
+        public IntervalSet<T> build() {
+            return froms.isEmpty() ? empty() : new IntervalSet<>(froms.toArray(), tos.toArray());
+        }
+
+    }
+
+}
@@ -0,0 +1,77 @@
+package themissingobjects.time;
+
+/**
+ * Contains sorting algorithms on primitive arrays not provided by {@code java.util.Arrays}.
+ */
+final class Sorting {
+
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+
+    private Sorting() { }
+
+    /**
+     * Sorts the first {@code n} keys in ascending order moving the indexes along with them.
+     *
+     * <p>
+     * The sort is stable, so indexes having the same key keep their relative order.
+     * </p>
+     *
+     * @param keys the keys to sort
+     * @param indexes the indexes associated to the keys
+     * @param n the number of elements to sort
+     */
+    static void sort(long[] keys, int[] indexes, int n) {
+        for (int lo = 0; lo < n; lo += INSERTION_SORT_THRESHOLD)
+            insertionSort(keys, indexes, lo, Math.min(lo + INSERTION_SORT_THRESHOLD, n));
+        if (n <= INSERTION_SORT_THRESHOLD)
+            return;
+
+        long[] srcKeys = keys;
+        int[] srcIndexes = indexes;
+        long[] dstKeys = new long[n];
+        int[] dstIndexes = new int[n];
+        for (int width = INSERTION_SORT_THRESHOLD; width < n; width <<= 1) {
+            for (int lo = 0; lo < n; lo += width << 1) {
+                int mid = Math.min(lo + width, n);
+                int hi = Math.min(lo + (width << 1), n);
+                merge(srcKeys, srcIndexes, dstKeys, dstIndexes, lo, mid, hi);
+            }
+            long[] k = srcKeys; srcKeys = dstKeys; dstKeys = k;
+            int[] i = srcIndexes; srcIndexes = dstIndexes; dstIndexes = i;
+        }
+        if (srcKeys != keys) {
+            System.arraycopy(srcKeys, 0, keys, 0, n);
+            System.arraycopy(srcIndexes, 0, indexes, 0, n);
+        }
+    }
+
+    private static void insertionSort(long[] keys, int[] indexes, int lo, int hi) {
+        for (int i = lo + 1; i < hi; i++) {
+            long key = keys[i];
+            int index = indexes[i];
+            int j = i - 1;
+            while (j >= lo && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                indexes[j + 1] = indexes[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            indexes[j + 1] = index;
+        }
+    }
+
+    private static void merge(long[] srcKeys, int[] srcIndexes, long[] dstKeys, int[] dstIndexes, int lo, int mid, int hi) {
+        int i = lo;
+        int j = mid;
+        for (int k = lo; k < hi; k++) {
+            if (j >= hi || (i < mid && srcKeys[i] <= srcKeys[j])) {
+                dstKeys[k] = srcKeys[i];
+                dstIndexes[k] = srcIndexes[i++];
+            } else {
+                dstKeys[k] = srcKeys[j];
+                dstIndexes[k] = srcIndexes[j++];
+            }
+        }
+    }
+
+}
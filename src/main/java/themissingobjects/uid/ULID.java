@@ -1,17 +1,177 @@
 package themissingobjects.uid;
 
-import java.util.Objects;
+import themissingobjects.encoding.Base32;
 
-public class ULID {
+import java.io.Serializable;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.time.Instant;
 
-    private final String code;
+/**
+ * Represents a <a href="https://github.com/ulid/spec" >ULID</a> (Universally Unique Lexicographically Sortable Identifier).
+ *
+ * <p>
+ * A ULID is a 128 bits value made by a timestamp (milliseconds from the epoch, 48 bits) followed by 80 random bits.
+ * It is stored as two {@code long}s (as {@code UUID}) and its textual representation is made by 26 characters of the
+ * Crockford Base32 alphabet, such as {@code 01ARZ3NDEKTSV4RRFFQ69G5FAV}. Its binary representation is made by
+ * 16 bytes in big-endian order.
+ * </p>
+ * <p>
+ * ULIDs are compared as unsigned 128 bits numbers, that is the same order of their textual (and binary) representation.
+ * </p>
+ * <p>
+ * ULIDs are created by a {@link ULIDGenerator}. {@link #randomULID()} uses a generator shared by the whole JVM.
+ * </p>
+ * <p>
+ * Because the timestamp is the most significant part, collections sorted by ULID are sorted by time too: a
+ * {@link ULIDRange} selects the ULIDs generated in an interval directly.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class ULID implements Comparable<ULID>, Serializable {
 
-    private ULID(String code) {
-        this.code = code;
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The number of bytes of the binary representation.
+     */
+    public static final int BYTES = 16;
+
+    /**
+     * The number of characters of the textual representation.
+     */
+    public static final int LENGTH = Base32.LONG_PAIR_LENGTH;
+
+    static final Base32 CROCKFORD = Base32.crockford();
+    private static final Base32 LENIENT_CROCKFORD = CROCKFORD.lenient();
+
+    private final long msb;
+    private final long lsb;
+
+    ULID(long msb, long lsb) {
+        this.msb = msb;
+        this.lsb = lsb;
     }
 
+    /**
+     * Returns a new ULID, monotonically increasing with the others returned by this method in the same millisecond.
+     *
+     * @return a new ULID
+     */
     public static ULID randomULID() {
-        return new ULID("test");
+        return ULIDGenerator.DEFAULT.next();
+    }
+
+    /**
+     * Returns the ULID having the specified 128 bits.
+     *
+     * @param mostSignificantBits the most significant 64 bits (timestamp and the first 16 random bits)
+     * @param leastSignificantBits the least significant 64 bits (the last 64 random bits)
+     * @return a ULID
+     */
+    public static ULID of(long mostSignificantBits, long leastSignificantBits) {
+        return new ULID(mostSignificantBits, leastSignificantBits);
+    }
+
+    /**
+     * Parses the textual representation of a ULID.
+     *
+     * <p>
+     * As required by the spec, parsing ignores case and accepts {@code O} as {@code 0} and {@code I}, {@code L} as {@code 1}.
+     * </p>
+     *
+     * @param text a text of 26 characters
+     * @return the ULID parsed
+     * @throws IllegalArgumentException if the text is not a valid ULID
+     */
+    public static ULID parse(CharSequence text) {
+        if (text.length() != LENGTH)
+            throw new IllegalArgumentException("ULID must have " + LENGTH + " characters (found '" + text + "')");
+        return new ULID(LENIENT_CROCKFORD.decodeHigh(text, 0), LENIENT_CROCKFORD.decodeLow(text, 0));
+    }
+
+    /**
+     * Reads the 16 bytes of a ULID from the specified buffer, advancing its position.
+     * Bytes are read in big-endian order whatever the order of the buffer.
+     *
+     * @param buffer a buffer
+     * @return the ULID read
+     * @throws BufferUnderflowException if there are less than 16 bytes remaining
+     */
+    public static ULID readFrom(ByteBuffer buffer) {
+        if (buffer.remaining() < BYTES)
+            throw new BufferUnderflowException();
+        long msb = buffer.getLong();
+        long lsb = buffer.getLong();
+        // NOTE: getLong follows the order of the buffer, which is left unchanged
+        if (buffer.order() == ByteOrder.LITTLE_ENDIAN)
+            return new ULID(Long.reverseBytes(msb), Long.reverseBytes(lsb));
+        return new ULID(msb, lsb);
+    }
+
+    public long mostSignificantBits() {
+        return msb;
+    }
+
+    public long leastSignificantBits() {
+        return lsb;
+    }
+
+    /**
+     * Returns the instant (with milliseconds resolution) this ULID has been generated.
+     * @return the instant this ULID has been generated
+     */
+    public Instant timestamp() {
+        return Instant.ofEpochMilli(msb >>> 16);
+    }
+
+    /**
+     * Appends the textual representation of this ULID to the specified builder.
+     *
+     * @param builder a builder
+     * @return the specified builder
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        return CROCKFORD.encode(msb, lsb, builder);
+    }
+
+    /**
+     * Writes the textual representation of this ULID, as 26 ASCII characters, into the specified array.
+     *
+     * @param dst the destination of ASCII characters
+     * @param offset the offset of the first character written
+     * @return the number of characters written
+     * @throws IndexOutOfBoundsException if the characters do not fit in the array
+     */
+    public int writeTo(byte[] dst, int offset) {
+        return CROCKFORD.encode(msb, lsb, dst, offset);
+    }
+
+    /**
+     * Writes the 16 bytes of this ULID into the specified buffer, advancing its position.
+     * Bytes are written in big-endian order whatever the order of the buffer.
+     *
+     * @param buffer a buffer
+     * @throws BufferOverflowException if there are less than 16 bytes remaining
+     */
+    public void writeTo(ByteBuffer buffer) {
+        if (buffer.remaining() < BYTES)
+            throw new BufferOverflowException();
+        // NOTE: putLong follows the order of the buffer, which is left unchanged
+        if (buffer.order() == ByteOrder.LITTLE_ENDIAN)
+            buffer.putLong(Long.reverseBytes(msb)).putLong(Long.reverseBytes(lsb));
+        else
+            buffer.putLong(msb).putLong(lsb);
+    }
+
+    @Override
+    public int compareTo(ULID that) {
+        int c = Long.compareUnsigned(msb, that.msb);
+        return c != 0 ? c : Long.compareUnsigned(lsb, that.lsb);
     }
 
     @Override
@@ -19,17 +179,18 @@ public class ULID {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         ULID ulid = (ULID) o;
-        return Objects.equals(code, ulid.code);
+        return msb == ulid.msb && lsb == ulid.lsb;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(code);
+        long bits = msb ^ lsb;
+        return (int) (bits >>> 32) ^ (int) bits;
     }
 
     @Override
     public String toString() {
-        return code;
+        return CROCKFORD.encode(msb, lsb);
     }
 
 }
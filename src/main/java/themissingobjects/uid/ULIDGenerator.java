@@ -0,0 +1,291 @@
+package themissingobjects.uid;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Represents a lock-free generator of monotonic {@link ULID}s.
+ *
+ * <p>
+ * When a ULID is generated in a new millisecond its 80 bits are random. Inside the same millisecond (or when the
+ * clock goes back), the 80 random bits of the last ULID are incremented, so ULIDs generated by the same generator
+ * are always strictly increasing, as defined by the <i>monotonicity</i> section of the spec.
+ * </p>
+ * <p>
+ * The last ULID is kept in an atomic reference updated by compare-and-set: threads never block each other and a
+ * thread retries only when another one generated a ULID in the meantime. Random bits are drawn from
+ * {@code ThreadLocalRandom}, that does not need synchronization, or from a {@code SecureRandom} when unpredictable
+ * ULIDs are required (see {@link Builder#secureRandom()}).
+ * </p>
+ * <p>
+ * Bulk loaders can reserve many consecutive ULIDs with a single compare-and-set (see
+ * {@link #next(long[], long[], int, int)} and {@link #next(int)}): the ULIDs of a batch are consecutive and greater
+ * than all the ones generated before the batch.
+ * </p>
+ * <p>
+ * When many nodes generate ULIDs for the same keys, a generator can be partitioned by node (see
+ * {@link Builder#node(int, long)}): the most significant random bits hold the id of the node and the others are a
+ * counter starting from zero at every millisecond. ULIDs of different nodes can never collide, no coordination
+ * between nodes is needed and no random bit is drawn, while ULIDs are still sorted by time and have the usual format.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class ULIDGenerator {
+
+    static final ULIDGenerator DEFAULT = create();
+
+    static final long MAX_TIMESTAMP = (1L << 48) - 1;
+
+    private final Clock clock;
+    private final SecureRandom secureRandom;
+    private final int nodeBits;
+    private final long node;
+    private final AtomicReference<ULID> last = new AtomicReference<>(new ULID(0, 0));
+
+    private ULIDGenerator(Clock clock, SecureRandom secureRandom, int nodeBits, long node) {
+        this.clock = Objects.requireNonNull(clock);
+        this.secureRandom = secureRandom;
+        this.nodeBits = nodeBits;
+        this.node = node;
+    }
+
+    /**
+     * Returns a generator using the system clock and {@code ThreadLocalRandom}.
+     *
+     * @return a generator
+     */
+    public static ULIDGenerator create() {
+        return builder().build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Returns a new ULID, greater than all the ones returned before by this generator.
+     *
+     * @return a new ULID
+     * @throws IllegalStateException if the clock is out of the range of ULIDs, or the random bits of the current
+     *                               millisecond are exhausted
+     */
+    public ULID next() {
+        return reserve(1);
+    }
+
+    /**
+     * Fills the specified arrays with the bits of the specified number of consecutive ULIDs, reserved in a single
+     * atomic step.
+     *
+     * @param msbs the destination of the most significant bits
+     * @param lsbs the destination of the least significant bits
+     * @param offset the index of the first ULID in the arrays
+     * @param count the number of ULIDs
+     * @throws IllegalStateException if the clock is out of the range of ULIDs, or the random bits of the current
+     *                               millisecond are not enough
+     * @throws IndexOutOfBoundsException if the ULIDs do not fit in the arrays
+     */
+    public void next(long[] msbs, long[] lsbs, int offset, int count) {
+        if (offset < 0 || count < 0 || offset > msbs.length - count || offset > lsbs.length - count)
+            throw new IndexOutOfBoundsException("range [" + offset + ", " + offset + " + " + count + ") out of bounds for lengths " + msbs.length + " and " + lsbs.length);
+        if (count == 0)
+            return;
+
+        ULID first = reserve(count);
+        long msb = first.mostSignificantBits();
+        long lsb = first.leastSignificantBits();
+        for (int i = offset, end = offset + count; i < end; i++) {
+            msbs[i] = msb;
+            lsbs[i] = lsb;
+            if (++lsb == 0)
+                msb++;
+        }
+    }
+
+    /**
+     * Returns a sequential stream of the specified number of consecutive ULIDs, reserved in a single atomic step
+     * when this method is invoked. ULIDs are created lazily, while the stream is consumed.
+     *
+     * @param count the number of ULIDs
+     * @return a stream of ULIDs
+     * @throws IllegalStateException if the clock is out of the range of ULIDs, or the random bits of the current
+     *                               millisecond are not enough
+     */
+    public Stream<ULID> next(int count) {
+        if (count < 0)
+            throw new IllegalArgumentException("'count' must not be negative (found " + count + ")");
+        if (count == 0)
+            return Stream.empty();
+
+        ULID first = reserve(count);
+        return IntStream.range(0, count).mapToObj(i -> plus(first, i));
+    }
+
+    /**
+     * Reserves the specified number of consecutive ULIDs and returns the first one.
+     */
+    private ULID reserve(int count) {
+        long now = timestamp();
+        long randomHigh = 0;
+        long randomLow = 0;
+        boolean drawn = false;
+        while (true) {
+            ULID previous = last.get();
+            ULID first;
+            if (now <= timestamp(previous.mostSignificantBits())) {
+                first = plus(previous, 1);
+            } else if (nodeBits > 0) {
+                first = firstOfNode(now);
+            } else {
+                if (! drawn) {
+                    randomHigh = nextInt() & 0xFFFFL;
+                    randomLow = nextLong();
+                    drawn = true;
+                }
+                first = new ULID(now << 16 | randomHigh, randomLow);
+            }
+            ULID end = count == 1 ? first : plus(first, count - 1);
+            if (nodeBits > 0 && node(end) != node)
+                throw new IllegalStateException("counter of node " + node + " in millisecond " + timestamp(first.mostSignificantBits()) + " is exhausted");
+            if (last.compareAndSet(previous, end))
+                return first;
+        }
+    }
+
+    /**
+     * Returns the ULID coming the specified number of steps after the specified one, in the same millisecond.
+     *
+     * <p>
+     * The 80 random bits (the 16 least significant bits of {@code msb} and all the bits of {@code lsb}) are handled
+     * as an unsigned number: a carry out of {@code lsb} goes into {@code msb}, and a carry out of the 80 bits means
+     * the ULIDs of the millisecond are exhausted.
+     * </p>
+     */
+    static ULID plus(ULID ulid, long steps) {
+        long msb = ulid.mostSignificantBits();
+        long lsb = ulid.leastSignificantBits() + steps;
+        if (Long.compareUnsigned(lsb, ulid.leastSignificantBits()) < 0) {
+            if ((msb & 0xFFFFL) == 0xFFFFL)
+                throw new IllegalStateException("random bits of millisecond " + timestamp(msb) + " are exhausted");
+            msb++;
+        }
+        return new ULID(msb, lsb);
+    }
+
+    /**
+     * Returns the first ULID of the node of this generator in the specified millisecond: the node id is in the most
+     * significant random bits, followed by a counter set to zero.
+     */
+    private ULID firstOfNode(long now) {
+        if (nodeBits <= 16)
+            return new ULID(now << 16 | node << (16 - nodeBits), 0);
+        return new ULID(now << 16 | node >>> (nodeBits - 16), node << (80 - nodeBits));
+    }
+
+    /**
+     * Returns the node id held in the most significant random bits of the specified ULID.
+     */
+    private long node(ULID ulid) {
+        long randomHigh = ulid.mostSignificantBits() & 0xFFFFL;
+        if (nodeBits <= 16)
+            return randomHigh >>> (16 - nodeBits);
+        return randomHigh << (nodeBits - 16) | ulid.leastSignificantBits() >>> (80 - nodeBits);
+    }
+
+    static long timestamp(long msb) {
+        return msb >>> 16;
+    }
+
+    private long timestamp() {
+        long now = clock.millis();
+        if (now < 0 || now > MAX_TIMESTAMP)
+            throw new IllegalStateException("clock out of the range of ULIDs (found " + now + " ms)");
+        return now;
+    }
+
+    private int nextInt() {
+        return secureRandom != null ? secureRandom.nextInt() : ThreadLocalRandom.current().nextInt();
+    }
+
+    private long nextLong() {
+        return secureRandom != null ? secureRandom.nextLong() : ThreadLocalRandom.current().nextLong();
+    }
+
+    /**
+     * Represents a builder of {@link ULIDGenerator}.
+     */
+    public static final class Builder {
+
+        private Clock clock = Clock.systemUTC();
+        private SecureRandom secureRandom;
+        private int nodeBits;
+        private long node;
+
+        private Builder() { }
+
+        public Builder clock(Clock clock) {
+            this.clock = Objects.requireNonNull(clock);
+            return this;
+        }
+
+        /**
+         * Draws random bits from a {@code SecureRandom} instead of {@code ThreadLocalRandom}: slower, but ULIDs
+         * generated in a new millisecond are not predictable.
+         *
+         * @return this builder
+         */
+        public Builder secureRandom() {
+            return secureRandom(new SecureRandom());
+        }
+
+        public Builder secureRandom(SecureRandom secureRandom) {
+            this.secureRandom = Objects.requireNonNull(secureRandom);
+            return this;
+        }
+
+        /**
+         * Partitions the 80 random bits: the most significant ones hold the specified node id, the others are a
+         * counter. For example, with 16 bits for the node, 65536 nodes can generate up to 2<sup>64</sup> ULIDs per
+         * millisecond each.
+         *
+         * @param bits the number of bits of the node id, from 1 to 64
+         * @param id the id of the node, unique among the nodes generating ULIDs
+         * @return this builder
+         * @throws IllegalArgumentException if the number of bits is out of range or the id does not fit in them
+         */
+        public Builder node(int bits, long id) {
+            if (bits < 1 || bits > 64)
+                throw new IllegalArgumentException("'bits' must be between 1 and 64 (found " + bits + ")");
+            if (bits < 64 && (id < 0 || id >= 1L << bits))
+                throw new IllegalArgumentException("'id' must fit in " + bits + " bits (found " + id + ")");
+            this.nodeBits = bits;
+            this.node = id;
+            return this;
+        }
+
+        /**
+         * Returns the generator.
+         *
+         * @return a generator
+         * @throws IllegalStateException if both a node and a {@code SecureRandom} have been specified (a generator
+         *                               partitioned by node does not draw random bits)
+         */
+        public ULIDGenerator build() {
+            if (nodeBits > 0 && secureRandom != null)
+                throw new IllegalStateException("a generator partitioned by node does not draw random bits: secureRandom cannot be specified");
+            return new ULIDGenerator(clock, secureRandom, nodeBits, node);
+        }
+
+    }
+
+}
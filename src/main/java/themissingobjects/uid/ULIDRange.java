@@ -0,0 +1,167 @@
+package themissingobjects.uid;
+
+import themissingobjects.time.Interval;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.NavigableSet;
+import java.util.Objects;
+
+/**
+ * Represents the range of {@link ULID}s generated in an {@link Interval} of {@code Instant}s.
+ *
+ * <p>
+ * A ULID is in the range if its {@link ULID#timestamp() timestamp} is contained in the interval. Since ULIDs are
+ * sorted by timestamp, the range is made by all the ULIDs between a {@link #lower()} and an {@link #upper()} bound,
+ * so ULIDs generated in an interval can be found in a sorted collection by binary search, without an index on
+ * timestamps:
+ * </p>
+ * <code>
+ *     NavigableSet&lt;ULID&gt; lastHour = ULIDRange.of(Interval.beginningFrom(now.minus(Duration.ofHours(1)))).subSet(events);
+ * </code>
+ * <p>
+ * Open intervals are supported, as instants before the epoch or after the last timestamp of ULIDs (year 10889).
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+public final class ULIDRange {
+
+    private static final ULID MIN = new ULID(0, 0);
+    private static final ULID MAX = new ULID(-1L, -1L);
+
+    private final Interval<Instant> interval;
+    private final ULID lower;
+    private final ULID upper;
+    private final boolean empty;
+
+    private ULIDRange(Interval<Instant> interval) {
+        this.interval = Objects.requireNonNull(interval);
+        long from = interval.from() == null ? 0 : ceilMillis(interval.from());
+        long to = interval.to() == null ? ULIDGenerator.MAX_TIMESTAMP + 1 : ceilMillis(interval.to());
+        this.empty = from >= to;
+        this.lower = empty ? MAX : new ULID(from << 16, 0);
+        this.upper = empty ? MIN : new ULID((to - 1) << 16 | 0xFFFF, -1L);
+    }
+
+    /**
+     * Returns the range of ULIDs generated in the specified interval.
+     *
+     * @param interval an interval
+     * @return a range of ULIDs
+     */
+    public static ULIDRange of(Interval<Instant> interval) {
+        return new ULIDRange(interval);
+    }
+
+    /**
+     * Returns the lowest ULID of this range (inclusive).
+     * @return the lowest ULID of this range
+     */
+    public ULID lower() {
+        return lower;
+    }
+
+    /**
+     * Returns the highest ULID of this range (inclusive).
+     * @return the highest ULID of this range
+     */
+    public ULID upper() {
+        return upper;
+    }
+
+    /**
+     * Returns {@code true} if no ULID can be generated in this range, as for an interval ending before the epoch.
+     *
+     * @return {@code true} if this range is empty, otherwise {@code false}
+     */
+    public boolean isEmpty() {
+        return empty;
+    }
+
+    public boolean contains(ULID ulid) {
+        return lower.compareTo(ulid) <= 0 && ulid.compareTo(upper) <= 0;
+    }
+
+    /**
+     * Returns a view of the ULIDs of the specified set in this range.
+     *
+     * @param ulids a set of ULIDs sorted by their natural order
+     * @return the ULIDs of the set in this range
+     */
+    public NavigableSet<ULID> subSet(NavigableSet<ULID> ulids) {
+        if (isEmpty())
+            return Collections.emptyNavigableSet();
+        return ulids.subSet(lower, true, upper, true);
+    }
+
+    /**
+     * Returns the index of the first ULID of the specified sorted array in this range.
+     *
+     * @param sorted an array of ULIDs sorted by their natural order
+     * @return the index of the first ULID in this range (the length of the array if all ULIDs are before it)
+     */
+    public int fromIndex(ULID[] sorted) {
+        return insertionPoint(sorted, lower, false);
+    }
+
+    /**
+     * Returns the index after the last ULID of the specified sorted array in this range.
+     *
+     * @param sorted an array of ULIDs sorted by their natural order
+     * @return the index after the last ULID in this range (zero if all ULIDs are after it)
+     */
+    public int toIndex(ULID[] sorted) {
+        return Math.max(fromIndex(sorted), insertionPoint(sorted, upper, true));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ULIDRange that = (ULIDRange) o;
+        return lower.equals(that.lower) && upper.equals(that.upper);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * lower.hashCode() + upper.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return empty ? interval + " []" : interval + " [" + lower + ", " + upper + "]";
+    }
+
+    /**
+     * Returns the index of the first ULID greater than (or equal to, if {@code after} is false) the specified one.
+     */
+    private static int insertionPoint(ULID[] sorted, ULID key, boolean after) {
+        int found = Arrays.binarySearch(sorted, key);
+        if (found < 0)
+            return -found - 1;
+        // NOTE: ULIDs may be repeated, so find the first (or the last) one
+        if (after) {
+            while (found < sorted.length && sorted[found].equals(key))
+                found++;
+        } else {
+            while (found > 0 && sorted[found - 1].equals(key))
+                found--;
+        }
+        return found;
+    }
+
+    private static long ceilMillis(Instant instant) {
+        if (instant.getEpochSecond() < 0)
+            return 0;
+        if (instant.getEpochSecond() > ULIDGenerator.MAX_TIMESTAMP / 1000)
+            return ULIDGenerator.MAX_TIMESTAMP + 1;
+        long millis = instant.toEpochMilli();
+        if (instant.getNano() % 1_000_000 != 0)
+            millis++;
+        return Math.min(millis, ULIDGenerator.MAX_TIMESTAMP + 1);
+    }
+
+}
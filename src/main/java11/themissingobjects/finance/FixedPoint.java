@@ -0,0 +1,32 @@
+package themissingobjects.finance;
+
+/**
+ * Contains the 128-bit arithmetic used by the fixed-point computations of {@link Money} and {@link Quote}.
+ *
+ * <p>
+ * This is the implementation used by Java 11 and later: {@code Math.multiplyHigh} is an intrinsic compiled by the JIT
+ * to a single instruction. It must return the same results of the Java 8 implementation.
+ * </p>
+ *
+ * @author <a href="mailto:me@sixro.net" >Sixro</a>
+ * @since 1.0
+ */
+final class FixedPoint {
+
+    private FixedPoint() { }
+
+    /**
+     * Returns the most significant 64 bits of the 128-bit product of the specified values.
+     */
+    static long multiplyHigh(long x, long y) {
+        return Math.multiplyHigh(x, y);
+    }
+
+    /**
+     * Returns {@code true} if the product of the specified values fits in a {@code long}.
+     */
+    static boolean isProductExact(long x, long y) {
+        return Math.multiplyHigh(x, y) == (x * y) >> 63;
+    }
+
+}
@@ -14,7 +14,7 @@ public class ShortIdTest {
     // ULID.randomULID
     // ULID.fromString
 
-    @Test public void _() throws NoSuchAlgorithmException {
+    @Test public void sha256_of_a_random_number() throws NoSuchAlgorithmException {
         SecureRandom random = SecureRandom.getInstance("SHA1PRNG");
         String randomNumberAsText = Integer.toString(random.nextInt());
         MessageDigest md = MessageDigest.getInstance("SHA-256");
@@ -0,0 +1,105 @@
+package themissingobjects.encoding;
+
+import org.junit.Test;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class Base32StreamsTest {
+
+    private final Base32 base32 = Base32.rfc4648();
+
+    @Test public void output_stream_encodes_as_whole_payload() throws IOException {
+        for (int length : new int[] { 0, 1, 4, 5, 6, 99, 1000 }) {
+            byte[] payload = payload(length);
+            ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+            try (OutputStream out = new Base32OutputStream(encoded, base32, 16)) {
+                out.write(payload, 0, Math.min(3, length));
+                for (int i = 3; i < Math.min(10, length); i++)
+                    out.write(payload[i]);
+                if (length > 10)
+                    out.write(payload, 10, length - 10);
+                out.flush();
+            }
+            assertEquals(base32.encode(payload), new String(encoded.toByteArray(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test public void input_stream_decodes_as_whole_text() throws IOException {
+        for (int length : new int[] { 0, 1, 4, 5, 6, 99, 1000 }) {
+            byte[] payload = payload(length);
+            InputStream trickling = new ByteArrayInputStream(base32.encode(payload).getBytes(StandardCharsets.US_ASCII)) {
+                @Override
+                public synchronized int read(byte[] b, int off, int len) {
+                    return super.read(b, off, Math.min(len, 3));
+                }
+            };
+            try (InputStream in = new Base32InputStream(trickling, base32, 24)) {
+                assertArrayEquals(payload, readAll(in));
+            }
+        }
+    }
+
+    @Test public void round_trip_through_channels() throws IOException {
+        byte[] payload = payload(12345);
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        try (WritableByteChannel channel = new Base32WritableByteChannel(Channels.newChannel(encoded), base32, 100)) {
+            ByteBuffer src = ByteBuffer.wrap(payload);
+            while (src.hasRemaining()) {
+                ByteBuffer chunk = src.slice();
+                chunk.limit(Math.min(chunk.remaining(), 77));
+                src.position(src.position() + channel.write(chunk));
+            }
+        }
+        assertEquals(base32.encode(payload), new String(encoded.toByteArray(), StandardCharsets.US_ASCII));
+
+        ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+        try (ReadableByteChannel channel = new Base32ReadableByteChannel(Channels.newChannel(new ByteArrayInputStream(encoded.toByteArray())), base32, 64)) {
+            ByteBuffer dst = ByteBuffer.allocateDirect(33);
+            while (channel.read(dst) >= 0) {
+                dst.flip();
+                while (dst.hasRemaining())
+                    decoded.write(dst.get());
+                dst.clear();
+            }
+        }
+        assertArrayEquals(payload, decoded.toByteArray());
+    }
+
+    @Test(expected = IOException.class)
+    public void invalid_text() throws IOException {
+        try (InputStream in = new Base32InputStream(new ByteArrayInputStream("MZXW6!!!".getBytes(StandardCharsets.US_ASCII)), base32)) {
+            readAll(in);
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void write_after_close() throws IOException {
+        OutputStream out = new Base32OutputStream(new ByteArrayOutputStream(), base32);
+        out.close();
+        out.write(1);
+    }
+
+    private static byte[] payload(int length) {
+        byte[] payload = new byte[length];
+        new Random(length).nextBytes(payload);
+        return payload;
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        byte[] buffer = new byte[7];
+        int n;
+        while ((n = in.read(buffer)) >= 0)
+            all.write(buffer, 0, n);
+        return all.toByteArray();
+    }
+
+}
@@ -3,7 +3,14 @@ package themissingobjects.encoding;
 import static org.junit.Assert.*;
 
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
 import org.junit.Test;
 
 public class Base32Test {
@@ -15,4 +22,175 @@ public class Base32Test {
         String encoded = new Base32().encode(bytes);
         System.out.println(encoded);
     }
-}
\ No newline at end of file
+
+    @Test public void rfc4648_same_as_commons_codec_without_padding() {
+        org.apache.commons.codec.binary.Base32 codec = new org.apache.commons.codec.binary.Base32();
+        Random random = new Random(42);
+        for (int length = 0; length < 64; length++) {
+            byte[] bytes = new byte[length];
+            random.nextBytes(bytes);
+            String expected = new String(codec.encode(bytes), StandardCharsets.US_ASCII).replace("=", "");
+            assertEquals(expected, Base32.rfc4648().encode(bytes));
+            assertArrayEquals(bytes, Base32.rfc4648().decode(expected));
+        }
+    }
+
+    @Test public void encode_and_decode_with_offsets() {
+        Base32 base32 = Base32.crockford();
+        byte[] src = "..hello..".getBytes(StandardCharsets.US_ASCII);
+
+        char[] chars = new char[12];
+        assertEquals(8, base32.encode(src, 2, 5, chars, 2));
+        assertEquals("D1JPRV3F", new String(chars, 2, 8));
+
+        byte[] ascii = new byte[8];
+        assertEquals(8, base32.encode(src, 2, 5, ascii, 0));
+        assertEquals("D1JPRV3F", new String(ascii, StandardCharsets.US_ASCII));
+
+        byte[] decoded = new byte[7];
+        assertEquals(5, base32.decode(chars, 2, 8, decoded, 1));
+        assertEquals("hello", new String(decoded, 1, 5, StandardCharsets.US_ASCII));
+        assertEquals(5, base32.decode(ascii, 0, 8, decoded, 0));
+        assertEquals("hello", new String(decoded, 0, 5, StandardCharsets.US_ASCII));
+    }
+
+    @Test public void encode_and_decode_ByteBuffers() {
+        Base32 base32 = Base32.rfc4648();
+        byte[] bytes = new byte[23];
+        new Random(7).nextBytes(bytes);
+
+        for (boolean direct : new boolean[] { false, true }) {
+            ByteBuffer src = allocate(direct, bytes.length).put(bytes);
+            src.flip();
+            ByteBuffer encoded = allocate(direct, base32.encodedLength(bytes.length));
+            assertEquals(37, base32.encode(src, encoded));
+            assertFalse(src.hasRemaining());
+            encoded.flip();
+
+            ByteBuffer decoded = allocate(direct, bytes.length);
+            assertEquals(23, base32.decode(encoded, decoded));
+            assertFalse(decoded.hasRemaining());
+            decoded.flip();
+            byte[] actual = new byte[bytes.length];
+            decoded.get(actual);
+            assertArrayEquals(bytes, actual);
+        }
+    }
+
+    @Test public void parallel_same_as_sequential() {
+        Base32 base32 = Base32.rfc4648();
+        byte[] bytes = new byte[100_003];
+        new Random(3).nextBytes(bytes);
+        String expected = base32.encode(bytes);
+        assertEquals(expected, base32.encodeParallel(bytes));
+
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            char[] chars = new char[expected.length() + 1];
+            assertEquals(expected.length(), base32.encodeParallel(bytes, 0, bytes.length, chars, 1, pool, 1000));
+            assertEquals(expected, new String(chars, 1, expected.length()));
+
+            byte[] ascii = new byte[expected.length()];
+            base32.encodeParallel(bytes, 0, bytes.length, ascii, 0, pool, 5);
+            assertEquals(expected, new String(ascii, StandardCharsets.US_ASCII));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test public void fixed_width_long() {
+        Base32 base32 = Base32.crockford();
+        assertEquals("0000000000000", base32.encode(0L));
+        assertEquals("000000000000Z", base32.encode(31L));
+        assertEquals("FZZZZZZZZZZZZ", base32.encode(-1L));
+        assertEquals("7ZZZZZZZZZZZZ", base32.encode(Long.MAX_VALUE));
+
+        Random random = new Random(11);
+        byte[] ascii = new byte[Base32.LONG_LENGTH];
+        for (int i = 0; i < 1000; i++) {
+            long value = random.nextLong();
+            String encoded = base32.encode(value);
+            assertEquals(value, base32.decodeLong(encoded));
+            base32.encode(value, ascii, 0);
+            assertEquals(value, base32.decodeLong(ascii, 0));
+        }
+    }
+
+    @Test public void fixed_width_128_bits() {
+        Base32 base32 = Base32.crockford();
+        assertEquals("7ZZZZZZZZZZZZZZZZZZZZZZZZZ", base32.encode(-1L, -1L));
+        assertEquals("0000000000000G000000000000", base32.encode(1L, 0L));
+        assertEquals("0000000000000F000000000000", base32.encode(0L, 0xF000000000000000L));
+
+        Random random = new Random(13);
+        byte[] ascii = new byte[Base32.LONG_PAIR_LENGTH + 2];
+        for (int i = 0; i < 1000; i++) {
+            UUID uuid = new UUID(random.nextLong(), random.nextLong());
+            assertEquals(uuid, base32.decodeUUID(base32.encode(uuid)));
+            base32.encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), ascii, 2);
+            assertEquals(uuid.getMostSignificantBits(), base32.decodeHigh(ascii, 2));
+            assertEquals(uuid.getLeastSignificantBits(), base32.decodeLow(ascii, 2));
+        }
+    }
+
+    @Test public void fixed_width_preserves_unsigned_order() {
+        Base32 base32 = Base32.crockford();
+        assertTrue(base32.isOrderPreserving());
+        assertFalse(Base32.rfc4648().isOrderPreserving());
+
+        Random random = new Random(17);
+        String[] encoded = new String[500];
+        for (int i = 0; i < encoded.length; i++)
+            encoded[i] = base32.encode(random.nextLong(), random.nextLong());
+        Arrays.sort(encoded);
+        for (int i = 1; i < encoded.length; i++)
+            assertTrue(Long.compareUnsigned(base32.decodeHigh(encoded[i - 1], 0), base32.decodeHigh(encoded[i], 0)) <= 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void fixed_width_overflow() {
+        Base32.crockford().decodeLong("G000000000000");
+    }
+
+    @Test public void lenient_crockford_accepts_lowercase_and_aliases() {
+        Base32 lenient = Base32.crockford().lenient();
+        assertArrayEquals(Base32.crockford().decode("0123456789ABCDEF"), lenient.decode("oI23456789abcdef"));
+        assertArrayEquals(Base32.crockford().decode("0100"), lenient.decode("Ol00"));
+        assertTrue(lenient.isLenient());
+        assertFalse(Base32.crockford().isLenient());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void strict_refuses_lowercase() {
+        Base32.crockford().decode("d1jprv3f");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void strict_refuses_non_zero_trailing_bits() {
+        Base32.rfc4648().decode("MZ");
+    }
+
+    @Test public void lenient_ignores_trailing_bits() {
+        assertArrayEquals(new byte[] { 'f' }, Base32.rfc4648().lenient().decode("MZ"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalid_length() {
+        Base32.rfc4648().decode("MZX");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void alphabet_must_have_distinct_characters() {
+        new Base32("AACDEFGHIJKLMNOPQRSTUVWXYZ234567".toCharArray());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void destination_too_small() {
+        Base32.rfc4648().encode(new byte[5], 0, 5, new char[7], 0);
+    }
+
+    private static ByteBuffer allocate(boolean direct, int capacity) {
+        return direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+    }
+
+}
@@ -0,0 +1,91 @@
+package themissingobjects.finance;
+
+import org.junit.Test;
+
+import java.util.*;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.*;
+
+public class BalanceMapTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+    private static final Currency USD = Currency.getInstance("USD");
+    private static final Currency JPY = Currency.getInstance("JPY");
+
+    @Test public void add_and_get() {
+        BalanceMap balances = BalanceMap.create();
+        balances.add(1, Money.of(10, EUR));
+        balances.add(1, new Money(-250, EUR));
+        balances.add(1, USD, 99);
+        balances.add(2, EUR, 1);
+
+        assertEquals(new Money(750, EUR), balances.get(1, EUR));
+        assertEquals(new Money(99, USD), balances.get(1, USD));
+        assertEquals(1, balances.minorUnits(2, EUR));
+        assertEquals(3, balances.size());
+    }
+
+    @Test public void missing_balance_is_zero() {
+        BalanceMap balances = BalanceMap.create();
+        balances.add(1, EUR, 100);
+
+        assertEquals(new Money(0, USD), balances.get(1, USD));
+        assertEquals(new Money(0, EUR), balances.get(2, EUR));
+        assertFalse(balances.contains(2, EUR));
+        assertTrue(balances.contains(1, EUR));
+    }
+
+    @Test public void same_as_a_HashMap() {
+        Random random = new Random(42);
+        Currency[] currencies = { EUR, USD, JPY };
+        BalanceMap balances = BalanceMap.of(0);
+        Map<String, Long> expected = new HashMap<>();
+        for (int i = 0; i < 100_000; i++) {
+            long account = random.nextInt(5_000) * 1_000_003L;
+            Currency currency = currencies[random.nextInt(currencies.length)];
+            long amount = random.nextInt(2_000_000) - 1_000_000;
+            balances.add(account, currency, amount);
+            expected.merge(account + " " + currency, amount, Long::sum);
+        }
+
+        Map<String, Long> found = new HashMap<>();
+        balances.forEach((account, currency, minorUnits) -> found.put(account + " " + currency, minorUnits));
+        assertEquals(expected, found);
+        assertEquals(expected.size(), balances.size());
+    }
+
+    @Test public void merge() {
+        BalanceMap a = BalanceMap.create();
+        a.add(1, EUR, 100);
+        a.add(2, USD, 5);
+        BalanceMap b = BalanceMap.create();
+        b.add(3, JPY, 7);
+        b.add(1, EUR, -30);
+        b.add(2, EUR, 1);
+
+        a.merge(b);
+
+        assertEquals(70, a.minorUnits(1, EUR));
+        assertEquals(5, a.minorUnits(2, USD));
+        assertEquals(1, a.minorUnits(2, EUR));
+        assertEquals(7, a.minorUnits(3, JPY));
+        assertEquals(4, a.size());
+        assertEquals(3, b.size());
+    }
+
+    @Test public void collect_parallel_stream() {
+        BalanceMap balances = IntStream.range(0, 100_000).parallel()
+                .collect(BalanceMap::create, (m, i) -> m.add(i % 1_000, EUR, 1), BalanceMap::merge);
+
+        assertEquals(1_000, balances.size());
+        for (long account = 0; account < 1_000; account++)
+            assertEquals(100, balances.minorUnits(account, EUR));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negative_expected_size() {
+        BalanceMap.of(-1);
+    }
+
+}
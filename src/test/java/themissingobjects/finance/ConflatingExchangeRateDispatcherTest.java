@@ -0,0 +1,98 @@
+package themissingobjects.finance;
+
+import org.junit.Test;
+
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.Assert.*;
+
+public class ConflatingExchangeRateDispatcherTest {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EUR/USD");
+    private static final CurrencyPair EURGBP = CurrencyPair.parse("EUR/GBP");
+    private static final ZonedDateTime NOW = ZonedDateTime.parse("2020-01-01T00:00:00Z");
+
+    @Test public void keeps_only_newest_rate_per_pair() {
+        ConflatingExchangeRateDispatcher dispatcher = ConflatingExchangeRateDispatcher.of(8);
+        dispatcher.publish(ExchangeRate.of(Quote.ONE, EURUSD, NOW));
+        dispatcher.publish(ExchangeRate.of(Quote.TEN, EURGBP, NOW));
+        dispatcher.publish(ExchangeRate.of(Quote.ONE_HUNDRED, EURUSD, NOW.plusSeconds(1)));
+        assertEquals(2, dispatcher.pendingCount());
+
+        List<ExchangeRate> drained = new ArrayList<>();
+        assertEquals(2, dispatcher.drain(drained::add));
+        assertEquals(ExchangeRate.of(Quote.ONE_HUNDRED, EURUSD, NOW.plusSeconds(1)), drained.get(0));
+        assertEquals(ExchangeRate.of(Quote.TEN, EURGBP, NOW), drained.get(1));
+
+        assertEquals(3, dispatcher.publishedCount());
+        assertEquals(1, dispatcher.conflatedCount());
+        assertEquals(2, dispatcher.deliveredCount());
+        assertEquals(0, dispatcher.pendingCount());
+    }
+
+    @Test public void older_rate_does_not_replace_pending_one() {
+        ConflatingExchangeRateDispatcher dispatcher = ConflatingExchangeRateDispatcher.of(8);
+        dispatcher.publish(ExchangeRate.of(Quote.TEN, EURUSD, NOW.plusSeconds(1)));
+        dispatcher.publish(ExchangeRate.of(Quote.ONE, EURUSD, NOW));
+
+        List<ExchangeRate> drained = new ArrayList<>();
+        dispatcher.drain(drained::add);
+        assertEquals(Quote.TEN, drained.get(0).quote());
+        assertEquals(1, dispatcher.conflatedCount());
+    }
+
+    @Test public void drain_in_batches() {
+        ConflatingExchangeRateDispatcher dispatcher = ConflatingExchangeRateDispatcher.of(8);
+        dispatcher.publish(ExchangeRate.of(Quote.ONE, EURUSD, NOW));
+        dispatcher.publish(ExchangeRate.of(Quote.ONE, EURGBP, NOW));
+
+        assertEquals(1, dispatcher.drain(r -> { }, 1));
+        assertEquals(1, dispatcher.pendingCount());
+        assertEquals(1, dispatcher.drain(r -> { }, 1));
+        assertEquals(0, dispatcher.drain(r -> { }, 1));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void too_many_pairs() {
+        ConflatingExchangeRateDispatcher dispatcher = ConflatingExchangeRateDispatcher.of(1);
+        dispatcher.publish(ExchangeRate.of(Quote.ONE, EURUSD, NOW));
+        dispatcher.publish(ExchangeRate.of(Quote.ONE, EURGBP, NOW));
+    }
+
+    @Test public void concurrent_publishers_never_lose_the_last_rate() throws InterruptedException {
+        ConflatingExchangeRateDispatcher dispatcher = ConflatingExchangeRateDispatcher.of(2);
+        int threads = 4;
+        int updates = 10_000;
+        CountDownLatch done = new CountDownLatch(threads);
+        AtomicBoolean finished = new AtomicBoolean();
+        ConcurrentHashMap<CurrencyPair, ExchangeRate> last = new ConcurrentHashMap<>();
+
+        Thread consumer = new Thread(() -> {
+            while (! finished.get())
+                dispatcher.drain(r -> last.put(r.currencyPair(), r), 16);
+        });
+        consumer.start();
+        for (int t = 0; t < threads; t++) {
+            CurrencyPair pair = t % 2 == 0 ? EURUSD : EURGBP;
+            new Thread(() -> {
+                for (int i = 0; i < updates; i++)
+                    dispatcher.publish(ExchangeRate.of(Quote.of(i), pair, NOW.plusNanos(i)));
+                done.countDown();
+            }).start();
+        }
+        done.await();
+        finished.set(true);
+        consumer.join();
+        dispatcher.drain(r -> last.put(r.currencyPair(), r));
+
+        assertEquals(Quote.of(updates - 1), last.get(EURUSD).quote());
+        assertEquals(Quote.of(updates - 1), last.get(EURGBP).quote());
+        assertEquals(threads * updates, dispatcher.conflatedCount() + dispatcher.deliveredCount());
+    }
+
+}
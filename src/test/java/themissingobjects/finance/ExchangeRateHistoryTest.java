@@ -0,0 +1,128 @@
+package themissingobjects.finance;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import themissingobjects.time.Interval;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ExchangeRateHistoryTest {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EUR/USD");
+    private static final ZonedDateTime START = ZonedDateTime.parse("2020-01-01T00:00:00Z");
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test public void write_and_read() throws IOException {
+        Path path = folder.newFile().toPath();
+        List<ExchangeRate> expected = newRates(1000);
+        write(path, expected, 64);
+
+        List<ExchangeRate> actual = new ArrayList<>();
+        try (ExchangeRateHistoryReader reader = ExchangeRateHistoryReader.open(path)) {
+            assertEquals(EURUSD, reader.currencyPair());
+            assertEquals(1000, reader.size());
+            reader.forEach(actual::add);
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test public void scan_interval() throws IOException {
+        Path path = folder.newFile().toPath();
+        List<ExchangeRate> rates = newRates(1000);
+        write(path, rates, 64);
+
+        Interval<Instant> interval = Interval.between(START.plusSeconds(100).toInstant(), START.plusSeconds(200).toInstant());
+        List<ExchangeRate> actual = new ArrayList<>();
+        try (ExchangeRateHistoryReader reader = ExchangeRateHistoryReader.open(path)) {
+            assertEquals(100, reader.scan(interval, actual::add));
+        }
+        assertEquals(rates.subList(100, 200), actual);
+    }
+
+    @Test public void scan_open_interval() throws IOException {
+        Path path = folder.newFile().toPath();
+        List<ExchangeRate> rates = newRates(1000);
+        write(path, rates, 64);
+
+        try (ExchangeRateHistoryReader reader = ExchangeRateHistoryReader.open(path)) {
+            assertEquals(10, reader.scan(Interval.beginningFrom(START.plusSeconds(990).toInstant()), r -> { }));
+            assertEquals(10, reader.scan(Interval.endingTo(START.plusSeconds(10).toInstant()), r -> { }));
+        }
+    }
+
+    @Test public void quotes_are_scaled_to_fraction_digits() throws IOException {
+        Path path = folder.newFile().toPath();
+        ExchangeRate rate = ExchangeRate.of(Quote.ONE, EURUSD, START);
+        try (ExchangeRateHistoryWriter writer = ExchangeRateHistoryWriter.open(path, EURUSD, 5)) {
+            writer.write(rate);
+        }
+
+        List<ExchangeRate> actual = new ArrayList<>();
+        try (ExchangeRateHistoryReader reader = ExchangeRateHistoryReader.open(path)) {
+            reader.forEach(actual::add);
+        }
+        assertEquals(rate.quote(), actual.get(0).quote());
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void too_many_fraction_digits() throws IOException {
+        try (ExchangeRateHistoryWriter writer = ExchangeRateHistoryWriter.open(folder.newFile().toPath(), EURUSD, 2)) {
+            writer.write(ExchangeRate.of(Quote.of(new BigDecimal("1.123")), EURUSD, START));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void wrong_currency_pair() throws IOException {
+        try (ExchangeRateHistoryWriter writer = ExchangeRateHistoryWriter.open(folder.newFile().toPath(), EURUSD, 2)) {
+            writer.write(ExchangeRate.of(Quote.ONE, CurrencyPair.parse("EUR/GBP"), START));
+        }
+    }
+
+    @Test public void corrupted_block_lengths() throws IOException {
+        Path path = folder.newFile().toPath();
+        write(path, newRates(100), 64);
+        byte[] bytes = Files.readAllBytes(path);
+
+        for (int lengthOffset : new int[] { 20, 24 }) {
+            for (int length : new int[] { -1, -ExchangeRateHistoryFormat.BLOCK_HEADER_LENGTH, Integer.MAX_VALUE }) {
+                byte[] corrupted = bytes.clone();
+                ByteBuffer.wrap(corrupted).putInt(ExchangeRateHistoryFormat.HEADER_LENGTH + lengthOffset, length);
+                Files.write(path, corrupted);
+                try (ExchangeRateHistoryReader reader = ExchangeRateHistoryReader.open(path)) {
+                    fail("length " + length + " at " + lengthOffset + " should be rejected");
+                } catch (IOException e) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    private static void write(Path path, List<ExchangeRate> rates, int blockSize) throws IOException {
+        try (ExchangeRateHistoryWriter writer = ExchangeRateHistoryWriter.of(Files.newOutputStream(path), EURUSD, 5, blockSize)) {
+            for (ExchangeRate rate : rates)
+                writer.write(rate);
+        }
+    }
+
+    private static List<ExchangeRate> newRates(int n) {
+        List<ExchangeRate> rates = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            BigDecimal quote = new BigDecimal("1.10000").add(BigDecimal.valueOf((i * 37) % 101 - 50, 5));
+            rates.add(ExchangeRate.of(Quote.of(quote), EURUSD, START.plusSeconds(i).plusNanos(i)));
+        }
+        return rates;
+    }
+
+}
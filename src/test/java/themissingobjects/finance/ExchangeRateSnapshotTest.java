@@ -0,0 +1,70 @@
+package themissingobjects.finance;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ExchangeRateSnapshotTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.parse("2020-01-01T00:00:00Z");
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EUR/USD");
+
+    @Test public void snapshots_are_immutable() {
+        ExchangeRateSnapshot v1 = ExchangeRateSnapshot.EMPTY.with(ExchangeRate.of(Quote.ONE, EURUSD, NOW));
+        ExchangeRateSnapshot v2 = v1.with(ExchangeRate.of(Quote.TEN, EURUSD, NOW));
+
+        assertEquals(Quote.ONE, v1.get(EURUSD).quote());
+        assertEquals(Quote.TEN, v2.get(EURUSD).quote());
+        assertEquals(1, v1.version());
+        assertEquals(2, v2.version());
+        assertEquals(1, v2.size());
+        assertNull(ExchangeRateSnapshot.EMPTY.get(EURUSD));
+    }
+
+    @Test public void holds_all_pairs() {
+        List<ExchangeRate> rates = new ArrayList<>();
+        List<Currency> currencies = new ArrayList<>(Currency.getAvailableCurrencies());
+        for (int i = 0; i < 60; i++)
+            for (int j = 0; j < 60; j++)
+                if (i != j)
+                    rates.add(ExchangeRate.of(Quote.of(i * 100 + j), CurrencyPair.of(currencies.get(i), currencies.get(j)), NOW));
+
+        ExchangeRateSnapshot snapshot = ExchangeRateSnapshot.EMPTY.with(rates);
+        assertEquals(rates.size(), snapshot.size());
+        for (ExchangeRate rate : rates)
+            assertEquals(rate, snapshot.get(rate.currencyPair()));
+
+        Set<ExchangeRate> visited = new HashSet<>();
+        snapshot.forEach(visited::add);
+        assertEquals(new HashSet<>(rates), visited);
+    }
+
+    @Test public void convert_in_both_directions() {
+        ExchangeRateSnapshot snapshot = ExchangeRateSnapshot.EMPTY.with(ExchangeRate.of(Quote.TEN, EURUSD, NOW));
+        assertEquals(Money.of(100, MoneyTest.USD), snapshot.convert(Money.of(10, MoneyTest.EUR), MoneyTest.USD));
+        assertEquals(Money.of(new BigDecimal("1"), MoneyTest.EUR), snapshot.convert(Money.of(10, MoneyTest.USD), MoneyTest.EUR));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void convert_without_rate() {
+        ExchangeRateSnapshot.EMPTY.convert(Money.of(10, MoneyTest.EUR), MoneyTest.USD);
+    }
+
+    @Test public void pinned_snapshot_does_not_see_new_versions() {
+        VersionedExchangeRates rates = VersionedExchangeRates.empty();
+        rates.publish(ExchangeRate.of(Quote.ONE, EURUSD, NOW));
+        ExchangeRateSnapshot pinned = rates.snapshot();
+
+        rates.publish(Arrays.asList(ExchangeRate.of(Quote.TEN, EURUSD, NOW), ExchangeRate.of(Quote.TEN, CurrencyPair.parse("EUR/GBP"), NOW)));
+
+        assertEquals(Quote.ONE, pinned.get(EURUSD).quote());
+        assertEquals(Quote.TEN, rates.snapshot().get(EURUSD).quote());
+        assertEquals(2, rates.snapshot().version());
+        assertEquals(2, rates.snapshot().size());
+    }
+
+}
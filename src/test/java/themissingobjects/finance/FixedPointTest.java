@@ -0,0 +1,42 @@
+package themissingobjects.finance;
+
+import org.junit.Test;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class FixedPointTest {
+
+    private static final long[] EDGES = { 0, 1, -1, 2, -2, Integer.MAX_VALUE, Integer.MIN_VALUE, 0xFFFFFFFFL, 1L << 32, Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1 };
+
+    @Test public void multiplyHigh_on_edges() {
+        for (long x : EDGES)
+            for (long y : EDGES)
+                assertEquals(x + " * " + y, expectedHigh(x, y), FixedPoint.multiplyHigh(x, y));
+    }
+
+    @Test public void multiplyHigh_on_random_values() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long x = random.nextLong() >> random.nextInt(64);
+            long y = random.nextLong() >> random.nextInt(64);
+            assertEquals(x + " * " + y, expectedHigh(x, y), FixedPoint.multiplyHigh(x, y));
+        }
+    }
+
+    @Test public void isProductExact() {
+        for (long x : EDGES) {
+            for (long y : EDGES) {
+                BigInteger product = BigInteger.valueOf(x).multiply(BigInteger.valueOf(y));
+                assertEquals(x + " * " + y, product.bitLength() < 64, FixedPoint.isProductExact(x, y));
+            }
+        }
+    }
+
+    private static long expectedHigh(long x, long y) {
+        return BigInteger.valueOf(x).multiply(BigInteger.valueOf(y)).shiftRight(64).longValue();
+    }
+
+}
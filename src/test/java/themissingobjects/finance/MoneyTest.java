@@ -86,6 +86,22 @@ public class MoneyTest {
         assertEquals(Money.of(new BigDecimal("101.234"), BHD), _10eur.convert(rate));
     }
 
+    @Test public void convert_from_base_to_quote_as_BigDecimal() {
+        Random random = new Random(42);
+        Currency[] currencies = { EUR, BHD, Currency.getInstance("JPY") };
+        for (int i = 0; i < 10_000; i++) {
+            Currency base = currencies[random.nextInt(currencies.length)];
+            Currency quote = currencies[random.nextInt(currencies.length)];
+            long value = i % 2 == 0 ? random.nextLong() >> random.nextInt(64) : random.nextInt();
+            Quote q = Quote.of(BigDecimal.valueOf(random.nextLong() >> random.nextInt(64), random.nextInt(12)));
+            Money money = new Money(value, base);
+            ExchangeRate rate = ExchangeRate.of(q, CurrencyPair.of(base, quote), IGNORE_TIMESTAMP);
+
+            Money expected = Money.of(money.toBigDecimal().multiply(q.toBigDecimal()), quote);
+            assertEquals(money + " * " + q, expected, money.convert(rate));
+        }
+    }
+
     @Test public void convert_from_quote_to_base() {
         Money _xBHD = Money.of(new BigDecimal("10.189"), BHD);
         ExchangeRate rate = ExchangeRate.of(Quote.TEN, CurrencyPair.parse("EUR/BHD"), IGNORE_TIMESTAMP);
@@ -0,0 +1,107 @@
+package themissingobjects.finance;
+
+import org.junit.Test;
+import themissingobjects.time.Interval;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class OhlcBarAggregatorTest {
+
+    private static final CurrencyPair EURUSD = CurrencyPair.parse("EUR/USD");
+    private static final CurrencyPair EURGBP = CurrencyPair.parse("EUR/GBP");
+    private static final ZonedDateTime T0 = ZonedDateTime.parse("2020-01-01T00:00:00Z");
+
+    @Test public void emits_bar_on_roll_over() {
+        List<OhlcBar> bars = new ArrayList<>();
+        OhlcBarAggregator aggregator = OhlcBarAggregator.of(Duration.ofMinutes(1), 4, Duration.ZERO, bars::add);
+        aggregator.onTick(rate("1.1000", EURUSD, 0), 10);
+        aggregator.onTick(rate("1.1050", EURUSD, 10), 20);
+        aggregator.onTick(rate("1.0950", EURUSD, 20), 30);
+        aggregator.onTick(rate("1.1010", EURUSD, 59), 40);
+        assertTrue(bars.isEmpty());
+
+        aggregator.onTick(rate("1.1020", EURUSD, 60));
+        assertEquals(1, bars.size());
+        assertEquals(OhlcBar.of(EURUSD, minute(0), quote("1.1000"), quote("1.1050"), quote("1.0950"), quote("1.1010"), 4, 100), bars.get(0));
+
+        aggregator.flush();
+        assertEquals(2, bars.size());
+        assertEquals(OhlcBar.of(EURUSD, minute(1), quote("1.1020"), quote("1.1020"), quote("1.1020"), quote("1.1020"), 1, 0), bars.get(1));
+    }
+
+    @Test public void bars_are_built_per_pair() {
+        List<OhlcBar> bars = new ArrayList<>();
+        OhlcBarAggregator aggregator = OhlcBarAggregator.of(Duration.ofMinutes(1), 4, Duration.ZERO, bars::add);
+        aggregator.onTick(rate("1.1000", EURUSD, 0));
+        aggregator.onTick(rate("0.8500", EURGBP, 0));
+        aggregator.onTick(rate("1.1000", EURUSD, 120));
+        assertEquals(1, bars.size());
+        assertEquals(EURUSD, bars.get(0).currencyPair());
+    }
+
+    @Test public void ticks_out_of_order_within_grace_are_counted() {
+        List<OhlcBar> bars = new ArrayList<>();
+        OhlcBarAggregator aggregator = OhlcBarAggregator.of(Duration.ofMinutes(1), 4, Duration.ofSeconds(5), bars::add);
+        aggregator.onTick(rate("1.1000", EURUSD, 30));
+        aggregator.onTick(rate("1.2000", EURUSD, 62));
+        aggregator.onTick(rate("1.0500", EURUSD, 10));
+        aggregator.onTick(rate("1.0900", EURUSD, 58));
+        assertTrue(bars.isEmpty());
+
+        aggregator.onTick(rate("1.2100", EURUSD, 66));
+        assertEquals(1, bars.size());
+        assertEquals(OhlcBar.of(EURUSD, minute(0), quote("1.0500"), quote("1.1000"), quote("1.0500"), quote("1.0900"), 3, 0), bars.get(0));
+
+        aggregator.onTick(rate("1.0000", EURUSD, 50));
+        assertEquals(1, aggregator.lateCount());
+    }
+
+    @Test public void coarser_bars_from_finer_ones() {
+        List<OhlcBar> hours = new ArrayList<>();
+        OhlcBarAggregator hourly = OhlcBarAggregator.of(Duration.ofHours(1), 4, Duration.ZERO, hours::add);
+        OhlcBarAggregator minutes = OhlcBarAggregator.of(Duration.ofMinutes(1), 4, Duration.ZERO, hourly::onBar);
+        for (int i = 0; i < 3600; i++)
+            minutes.onTick(rate(i % 7 == 0 ? "1.2000" : "1.1000", EURUSD, i), 1);
+        minutes.onTick(rate("1.3000", EURUSD, 3600), 1);
+        minutes.flush();
+        hourly.flush();
+
+        assertEquals(2, hours.size());
+        OhlcBar first = hours.get(0);
+        assertEquals(Interval.between(T0.toInstant(), T0.toInstant().plusSeconds(3600)), first.interval());
+        assertEquals(quote("1.2000"), first.open());
+        assertEquals(quote("1.2000"), first.high());
+        assertEquals(quote("1.1000"), first.low());
+        assertEquals(quote("1.1000"), first.close());
+        assertEquals(3600, first.count());
+        assertEquals(3600, first.volume());
+        assertEquals(quote("1.3000"), hours.get(1).open());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void bar_spanning_two_buckets_is_refused() {
+        OhlcBarAggregator aggregator = OhlcBarAggregator.of(Duration.ofMinutes(1), 4, Duration.ZERO, b -> { });
+        aggregator.onBar(OhlcBar.of(EURUSD, Interval.between(T0.toInstant().plusSeconds(30), T0.toInstant().plusSeconds(90)), Quote.ONE, Quote.ONE, Quote.ONE, Quote.ONE, 1, 0));
+    }
+
+    private static ExchangeRate rate(String quote, CurrencyPair pair, int seconds) {
+        return ExchangeRate.of(quote(quote), pair, T0.plusSeconds(seconds));
+    }
+
+    private static Quote quote(String quote) {
+        return Quote.of(new BigDecimal(quote));
+    }
+
+    private static Interval<Instant> minute(int minute) {
+        Instant from = T0.toInstant().plusSeconds(minute * 60L);
+        return Interval.between(from, from.plusSeconds(60));
+    }
+
+}
@@ -0,0 +1,60 @@
+package themissingobjects.finance;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.ZonedDateTime;
+
+import static org.junit.Assert.*;
+import static themissingobjects.finance.MoneyTest.*;
+
+public class PortfolioValuationTest {
+
+    private static final ZonedDateTime NOW = ZonedDateTime.parse("2020-01-01T00:00:00Z");
+
+    @Test public void total_in_reporting_currency() {
+        PortfolioValuation valuation = PortfolioValuation.of(EUR);
+        valuation.add(Money.of(10, EUR));
+        valuation.add(Money.of(20, USD));
+        valuation.add(Money.of(5, GBP));
+        valuation.onRate(ExchangeRate.of(Quote.of(2), CurrencyPair.parse("EUR/USD"), NOW));
+        valuation.onRate(ExchangeRate.of(Quote.of(new BigDecimal("0.5")), CurrencyPair.parse("GBP/EUR"), NOW));
+
+        assertEquals(Money.of(new BigDecimal("22.50"), EUR), valuation.total());
+    }
+
+    @Test public void revalue_only_changed_currency() {
+        PortfolioValuation valuation = PortfolioValuation.of(EUR);
+        valuation.add(Money.of(20, USD));
+        valuation.add(Money.of(5, GBP));
+        valuation.onRate(ExchangeRate.of(Quote.of(2), CurrencyPair.parse("EUR/USD"), NOW));
+        valuation.onRate(ExchangeRate.of(Quote.ONE, CurrencyPair.parse("GBP/EUR"), NOW));
+        assertEquals(Money.of(15, EUR), valuation.total());
+
+        valuation.onRate(ExchangeRate.of(Quote.of(4), CurrencyPair.parse("EUR/USD"), NOW.plusSeconds(1)));
+        assertEquals(Money.of(10, EUR), valuation.total());
+    }
+
+    @Test public void same_total_as_converting_from_scratch() {
+        PortfolioValuation valuation = PortfolioValuation.of(EUR);
+        valuation.add(Money.of(new BigDecimal("12.34"), USD));
+        valuation.add(Money.of(new BigDecimal("56.78"), USD));
+        ExchangeRate rate = ExchangeRate.of(Quote.of(new BigDecimal("1.1234")), CurrencyPair.parse("EUR/USD"), NOW);
+        valuation.onRate(rate);
+
+        assertEquals(Money.of(new BigDecimal("69.12"), USD).convert(rate), valuation.total());
+    }
+
+    @Test public void unrelated_rates_are_ignored() {
+        PortfolioValuation valuation = PortfolioValuation.of(EUR);
+        assertFalse(valuation.onRate(ExchangeRate.of(Quote.TEN, CurrencyPair.parse("GBP/USD"), NOW)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void total_requires_all_rates() {
+        PortfolioValuation valuation = PortfolioValuation.of(EUR);
+        valuation.add(Money.of(20, USD));
+        valuation.total();
+    }
+
+}
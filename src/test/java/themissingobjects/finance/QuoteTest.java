@@ -5,9 +5,11 @@ import org.junit.Test;
 import testing.BigDecimalAsserts;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 public class QuoteTest {
 
@@ -56,4 +58,67 @@ public class QuoteTest {
         Assert.assertEquals(Quote.ONE, l.get(0));
     }
 
+    @Test public void parse() {
+        for (String text : new String[] { "1.2345", "-1.2345", "+7", "0", "-0", "0.000", ".5", "5.", "12E-3", "1.5e+4", "1e4", "00012.3400", "9223372036854775807", "-9223372036854775808", "-.922337203685477580E-2147483600" })
+            assertParsedAsBigDecimal(text, Quote.parse(text));
+    }
+
+    @Test public void parse_bytes() {
+        byte[] bytes = "price=1.0923;".getBytes(StandardCharsets.US_ASCII);
+        assertParsedAsBigDecimal("1.0923", Quote.parse(bytes, 6, 6));
+    }
+
+    @Test public void parse_as_BigDecimal() {
+        Random random = new Random(42);
+        String alphabet = "0123456789000000000.+-eE";
+        for (int i = 0; i < 200_000; i++) {
+            StringBuilder sb = new StringBuilder();
+            for (int j = random.nextInt(24); j > 0; j--)
+                sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            String text = sb.toString();
+
+            BigDecimal expected;
+            try {
+                expected = new BigDecimal(text);
+            } catch (NumberFormatException e) {
+                assertNotParsed(text);
+                continue;
+            }
+            if (expected.unscaledValue().bitLength() < 64)
+                assertParsedAsBigDecimal(text, Quote.parse(text));
+            else
+                assertNotParsed(text);
+        }
+    }
+
+    @Test public void parse_rejects_invalid_text() {
+        for (String text : new String[] { "", "-", "+", ".", "1..2", "1.2.3", "e5", "1e", "1e+", "1e5.0", " 1", "1 ", "1,2", "--1", "0x10", "1e2147483648", "1e-2147483649" })
+            assertNotParsed(text);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void parse_rejects_overflow() {
+        Quote.parse("9223372036854775808");
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void parse_rejects_scale_out_of_range() {
+        Quote.parse("0.1e-2147483648");
+    }
+
+    private static void assertParsedAsBigDecimal(String text, Quote parsed) {
+        Quote expected = Quote.of(new BigDecimal(text));
+        Assert.assertEquals(text, expected.fractionDigits(), parsed.fractionDigits());
+        Assert.assertEquals(text, expected.unscaledValue(expected.fractionDigits()), parsed.unscaledValue(parsed.fractionDigits()));
+    }
+
+    private static void assertNotParsed(String text) {
+        try {
+            Quote.parse(text);
+            Assert.fail("'" + text + "' should not be parsed");
+        } catch (NumberFormatException e) {
+            // expected
+        }
+    }
+
 }
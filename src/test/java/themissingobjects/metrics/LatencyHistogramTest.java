@@ -0,0 +1,84 @@
+package themissingobjects.metrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class LatencyHistogramTest {
+
+    @Test public void empty() {
+        LatencyHistogram histogram = LatencyHistogram.create();
+
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.max());
+        assertEquals(0, histogram.valueAtPercentile(99), 0);
+        assertEquals(0, histogram.mean(), 0);
+    }
+
+    @Test public void small_values_are_exact() {
+        LatencyHistogram histogram = LatencyHistogram.create();
+        for (int i = 1; i <= 50; i++)
+            histogram.record(i);
+
+        assertEquals(50, histogram.count());
+        assertEquals(1275, histogram.sum());
+        assertEquals(25, histogram.valueAtPercentile(50));
+        assertEquals(50, histogram.valueAtPercentile(100));
+        assertEquals(1, histogram.valueAtPercentile(0));
+    }
+
+    @Test public void relative_error_is_bounded() {
+        LatencyHistogram histogram = LatencyHistogram.create();
+        for (long v = 1; v <= 1_000_000; v++)
+            histogram.record(v * 1000);
+
+        for (double percentile : new double[] { 10, 50, 90, 99, 99.9 }) {
+            double exact = percentile * 10_000_000;
+            long found = histogram.valueAtPercentile(percentile);
+            assertTrue(percentile + "th percentile: " + found, found >= exact && found <= exact * (1 + 1.0 / 32));
+        }
+        assertEquals(1_000_000_000L, histogram.valueAtPercentile(100));
+    }
+
+    @Test public void buckets_cover_all_longs() {
+        LatencyHistogram histogram = LatencyHistogram.of(3);
+        for (long v : new long[] { 0, 15, 16, 17, 1L << 40, Long.MAX_VALUE }) {
+            int index = histogram.indexOf(v);
+            assertTrue(v + " is not in its bucket", histogram.lowestValueOf(index) <= v && v <= histogram.highestValueOf(index));
+        }
+        for (int i = 1; i < histogram.indexOf(Long.MAX_VALUE) + 1; i++)
+            assertEquals(histogram.highestValueOf(i - 1) + 1, histogram.lowestValueOf(i));
+        assertEquals(Long.MAX_VALUE, histogram.highestValueOf(histogram.indexOf(Long.MAX_VALUE)));
+    }
+
+    @Test public void negative_values_are_recorded_as_zero() {
+        LatencyHistogram histogram = LatencyHistogram.create();
+        histogram.record(-5);
+
+        assertEquals(1, histogram.count());
+        assertEquals(0, histogram.max());
+    }
+
+    @Test public void forEachBucket() {
+        LatencyHistogram histogram = LatencyHistogram.create();
+        histogram.record(3);
+        histogram.record(3);
+        histogram.record(1000);
+
+        List<String> buckets = new ArrayList<>();
+        histogram.forEachBucket((from, to, count) -> buckets.add(from + "-" + to + ":" + count));
+
+        assertEquals(2, buckets.size());
+        assertEquals("3-3:2", buckets.get(0));
+        assertEquals("992-1007:1", buckets.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void precision_out_of_range() {
+        LatencyHistogram.of(11);
+    }
+
+}
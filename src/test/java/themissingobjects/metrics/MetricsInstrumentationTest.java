@@ -0,0 +1,92 @@
+package themissingobjects.metrics;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.util.Collections;
+import java.util.Currency;
+import java.util.Locale;
+
+import static org.junit.Assert.*;
+
+public class MetricsInstrumentationTest {
+
+    private static final Currency EUR = Currency.getInstance("EUR");
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test public void noop_by_default() {
+        assertSame(Instrumentation.NOOP, Instrumentations.get());
+        assertFalse(Instrumentations.get().isEnabled());
+    }
+
+    @Test public void record() {
+        MetricsInstrumentation metrics = new MetricsInstrumentation();
+        metrics.record(Operation.MONEY_PARSE, 1000, true);
+        metrics.record(Operation.MONEY_PARSE, 3000, false);
+
+        assertEquals(2, metrics.count(Operation.MONEY_PARSE));
+        assertEquals(1, metrics.failures(Operation.MONEY_PARSE));
+        assertEquals(3000, metrics.histogram(Operation.MONEY_PARSE).max());
+        assertEquals(0, metrics.count(Operation.MONEY_FORMAT));
+    }
+
+    /**
+     * The instrumentation is registered only in a class loader of its own, so the other tests keep using the default
+     * one as in production.
+     */
+    @Test public void loaded_by_service_loader() throws Exception {
+        try (URLClassLoader loader = newClassLoaderRegistering(MetricsInstrumentation.class)) {
+            Object metrics = loader.loadClass(Instrumentations.class.getName()).getMethod("get").invoke(null);
+            assertEquals(MetricsInstrumentation.class.getName(), metrics.getClass().getName());
+
+            Class<?> money = loader.loadClass("themissingobjects.finance.Money");
+            Method parse = money.getMethod("parse", String.class, Locale.class);
+            Object _1eur = money.getMethod("of", BigDecimal.class, Currency.class).invoke(null, new BigDecimal("1.23"), EUR);
+            parse.invoke(null, money.getMethod("toString", Locale.class).invoke(_1eur, Locale.ITALY), Locale.ITALY);
+            try {
+                parse.invoke(null, "not a money", Locale.ITALY);
+                fail("parse should fail");
+            } catch (InvocationTargetException e) {
+                assertTrue(e.getCause() instanceof ParseException);
+            }
+            loader.loadClass("themissingobjects.finance.SmartDecimalFormat").getMethod("currencyBySymbol", String.class, Locale.class).invoke(null, "#?", Locale.US);
+
+            assertEquals(2L, invoke(metrics, "count", loader, Operation.MONEY_PARSE));
+            assertEquals(1L, invoke(metrics, "failures", loader, Operation.MONEY_PARSE));
+            assertEquals(1L, invoke(metrics, "count", loader, Operation.MONEY_FORMAT));
+            assertEquals(1L, invoke(metrics, "failures", loader, Operation.CURRENCY_BY_SYMBOL));
+        }
+    }
+
+    /**
+     * Returns a class loader of the classes of this library (and not of the tests), listing the specified class as
+     * the instrumentation.
+     */
+    private URLClassLoader newClassLoaderRegistering(Class<? extends Instrumentation> instrumentation) throws Exception {
+        File services = folder.newFolder("META-INF", "services");
+        Path registration = services.toPath().resolve(Instrumentation.class.getName());
+        Files.write(registration, Collections.singletonList(instrumentation.getName()), StandardCharsets.UTF_8);
+
+        URL library = Instrumentation.class.getProtectionDomain().getCodeSource().getLocation();
+        return new URLClassLoader(new URL[] { folder.getRoot().toURI().toURL(), library }, ClassLoader.getSystemClassLoader().getParent());
+    }
+
+    private static Object invoke(Object metrics, String method, ClassLoader loader, Operation operation) throws Exception {
+        Class<?> type = loader.loadClass(Operation.class.getName());
+        Object op = type.getField(operation.name()).get(null);
+        return metrics.getClass().getMethod(method, type).invoke(metrics, op);
+    }
+
+}
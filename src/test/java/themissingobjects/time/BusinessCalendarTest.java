@@ -0,0 +1,133 @@
+package themissingobjects.time;
+
+import org.junit.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class BusinessCalendarTest {
+
+    private static final LocalDate CHRISTMAS = LocalDate.parse("2020-12-25");
+    private static final LocalDate INDEPENDENCE_DAY = LocalDate.parse("2020-07-03");
+
+    private final BusinessCalendar target = BusinessCalendar.builder(Year.of(2020), Year.of(2021))
+            .holidays(Arrays.asList(CHRISTMAS, LocalDate.parse("2021-01-01")))
+            .build();
+
+    @Test public void weekend_and_holidays_are_not_business_days() {
+        assertTrue(target.isBusinessDay(LocalDate.parse("2020-12-24")));
+        assertFalse(target.isBusinessDay(CHRISTMAS));
+        assertFalse(target.isBusinessDay(LocalDate.parse("2020-12-26")));
+        assertFalse(target.isBusinessDay(LocalDate.parse("2020-12-27")));
+        assertTrue(target.isBusinessDay(LocalDate.parse("2020-12-28")));
+    }
+
+    @Test public void count() {
+        assertEquals(4, target.count(Interval.between(LocalDate.parse("2020-12-21"), LocalDate.parse("2020-12-28"))));
+        assertEquals(9, target.count(Interval.between(LocalDate.parse("2020-12-21"), LocalDate.parse("2021-01-05"))));
+        assertEquals(262 - 1, target.count(Interval.between(LocalDate.parse("2020-01-01"), LocalDate.parse("2021-01-01"))));
+        assertEquals(262 + 261 - 2, target.count(Interval.between(target.firstDay(), target.lastDay().plusDays(1))));
+    }
+
+    @Test public void plus_and_minus_business_days() {
+        assertEquals(LocalDate.parse("2020-12-28"), target.plusBusinessDays(LocalDate.parse("2020-12-24"), 1));
+        assertEquals(LocalDate.parse("2021-01-04"), target.plusBusinessDays(LocalDate.parse("2020-12-24"), 5));
+        assertEquals(LocalDate.parse("2020-12-24"), target.minusBusinessDays(LocalDate.parse("2020-12-28"), 1));
+        assertEquals(LocalDate.parse("2020-12-26"), target.plusBusinessDays(LocalDate.parse("2020-12-26"), 0));
+    }
+
+    @Test public void next_and_previous() {
+        assertEquals(LocalDate.parse("2020-12-28"), target.next(CHRISTMAS));
+        assertEquals(LocalDate.parse("2020-12-24"), target.previous(CHRISTMAS));
+        assertEquals(LocalDate.parse("2020-12-29"), target.next(LocalDate.parse("2020-12-28")));
+    }
+
+    @Test public void union_and_intersection() {
+        BusinessCalendar us = BusinessCalendar.builder(Year.of(2020), Year.of(2021)).holiday(INDEPENDENCE_DAY).build();
+
+        BusinessCalendar both = target.intersection(us);
+        assertFalse(both.isBusinessDay(CHRISTMAS));
+        assertFalse(both.isBusinessDay(INDEPENDENCE_DAY));
+
+        BusinessCalendar any = target.union(us);
+        assertTrue(any.isBusinessDay(CHRISTMAS));
+        assertTrue(any.isBusinessDay(INDEPENDENCE_DAY));
+        assertFalse(any.isBusinessDay(LocalDate.parse("2020-12-26")));
+    }
+
+    @Test public void combining_calendars_keeps_common_years() {
+        BusinessCalendar other = BusinessCalendar.builder(Year.of(2021), Year.of(2030)).build();
+        BusinessCalendar combined = target.intersection(other);
+        assertEquals(LocalDate.parse("2021-01-01"), combined.firstDay());
+        assertEquals(LocalDate.parse("2021-12-31"), combined.lastDay());
+        assertFalse(combined.isBusinessDay(LocalDate.parse("2021-01-01")));
+        assertTrue(combined.isBusinessDay(LocalDate.parse("2021-12-31")));
+    }
+
+    @Test public void same_results_of_day_by_day_iteration() {
+        Random random = new Random(42);
+        Set<LocalDate> holidays = new HashSet<>();
+        for (int i = 0; i < 300; i++)
+            holidays.add(LocalDate.of(1990 + random.nextInt(30), 1, 1).plusDays(random.nextInt(365)));
+        BusinessCalendar calendar = BusinessCalendar.builder(Year.of(1990), Year.of(2019))
+                .weekend(DayOfWeek.FRIDAY, DayOfWeek.SATURDAY)
+                .holidays(holidays)
+                .build();
+
+        for (int i = 0; i < 200; i++) {
+            LocalDate from = LocalDate.of(1991, 1, 1).plusDays(random.nextInt(9000));
+            LocalDate to = from.plusDays(1 + random.nextInt(500));
+            int expected = 0;
+            for (LocalDate d = from; d.isBefore(to); d = d.plusDays(1))
+                if (d.getDayOfWeek() != DayOfWeek.FRIDAY && d.getDayOfWeek() != DayOfWeek.SATURDAY && ! holidays.contains(d))
+                    expected++;
+            assertEquals(expected, calendar.count(Interval.between(from, to)));
+
+            LocalDate shifted = calendar.plusBusinessDays(from, expected);
+            assertEquals(expected, calendar.count(Interval.between(from.plusDays(1), shifted.plusDays(1))));
+            assertTrue(calendar.isBusinessDay(shifted));
+            if (expected > 0)
+                assertEquals(calendar.next(from), calendar.minusBusinessDays(shifted, expected - 1));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void date_out_of_calendar() {
+        target.isBusinessDay(LocalDate.parse("2022-01-01"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void result_out_of_calendar() {
+        target.plusBusinessDays(LocalDate.parse("2021-12-30"), 2);
+    }
+
+    @Test public void extreme_number_of_days_are_out_of_calendar() {
+        LocalDate date = LocalDate.parse("2020-06-15");
+        for (int n : new int[] { Integer.MIN_VALUE, Integer.MAX_VALUE }) {
+            for (boolean minus : new boolean[] { false, true }) {
+                try {
+                    if (minus)
+                        target.minusBusinessDays(date, n);
+                    else
+                        target.plusBusinessDays(date, n);
+                    fail((minus ? "minus " : "plus ") + n + " business days should be out of calendar");
+                } catch (IllegalArgumentException e) {
+                    // expected
+                }
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void open_interval_cannot_be_counted() {
+        target.count(Interval.beginningFrom(LocalDate.parse("2020-01-01")));
+    }
+
+}
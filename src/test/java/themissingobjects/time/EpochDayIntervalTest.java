@@ -0,0 +1,36 @@
+package themissingobjects.time;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.Assert.*;
+
+public class EpochDayIntervalTest {
+
+    private static final LocalDate JAN = LocalDate.parse("2020-01-01");
+    private static final LocalDate MAR = LocalDate.parse("2020-03-01");
+
+    @Test public void contains_on_edges() {
+        EpochDayInterval i = EpochDayInterval.of(Interval.between(JAN, MAR));
+        assertFalse(i.contains(LocalDate.parse("2019-12-31")));
+        assertTrue(i.contains(JAN));
+        assertTrue(i.contains(LocalDate.parse("2020-02-29")));
+        assertFalse(i.contains(MAR));
+    }
+
+    @Test public void overlaps_intersection_and_span() {
+        EpochDayInterval a = EpochDayInterval.of(Interval.between(JAN, MAR));
+        EpochDayInterval b = EpochDayInterval.of(Interval.beginningFrom(LocalDate.parse("2020-02-01")));
+
+        assertTrue(a.overlaps(b));
+        assertEquals(Interval.between(LocalDate.parse("2020-02-01"), MAR), a.intersection(b).toInterval());
+        assertEquals(Interval.beginningFrom(JAN), a.span(b).toInterval());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void conversion_of_interval_open_on_both_sides() {
+        EpochDayInterval.endingTo(0).span(EpochDayInterval.beginningFrom(0)).toInterval();
+    }
+
+}
@@ -0,0 +1,68 @@
+package themissingobjects.time;
+
+import org.junit.Test;
+
+import java.time.Instant;
+
+import static org.junit.Assert.*;
+
+public class InstantIntervalTest {
+
+    private static final Instant T12 = Instant.parse("2020-01-01T12:00:00Z");
+    private static final Instant T14 = Instant.parse("2020-01-01T14:00:00Z");
+
+    @Test public void contains_on_edges() {
+        InstantInterval i = InstantInterval.of(Interval.between(T12, T14));
+        assertFalse(i.contains(T12.minusNanos(1)));
+        assertTrue(i.contains(T12));
+        assertTrue(i.contains(T14.minusNanos(1)));
+        assertFalse(i.contains(T14));
+        assertTrue(i.contains(InstantInterval.epochNanos(T12) + 1));
+    }
+
+    @Test public void open_intervals() {
+        InstantInterval beginning = InstantInterval.of(Interval.beginningFrom(T12));
+        assertFalse(beginning.hasEnd());
+        assertTrue(beginning.contains(Instant.MAX));
+        assertFalse(beginning.contains(Instant.MIN));
+
+        InstantInterval ending = InstantInterval.of(Interval.endingTo(T12));
+        assertFalse(ending.hasBeginning());
+        assertTrue(ending.contains(Instant.MIN));
+        assertFalse(ending.contains(T12));
+    }
+
+    @Test public void overlaps_intersection_and_span() {
+        InstantInterval a = InstantInterval.between(0, 10);
+        InstantInterval b = InstantInterval.between(5, 20);
+        InstantInterval c = InstantInterval.between(10, 20);
+
+        assertTrue(a.overlaps(b));
+        assertFalse(a.overlaps(c));
+        assertEquals(InstantInterval.between(5, 10), a.intersection(b));
+        assertEquals(InstantInterval.between(0, 20), a.span(c));
+        assertEquals(InstantInterval.between(Long.MIN_VALUE, 10), a.span(InstantInterval.endingTo(3)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void intersection_requires_overlapping_intervals() {
+        InstantInterval.between(0, 10).intersection(InstantInterval.between(10, 20));
+    }
+
+    @Test public void conversion_to_interval() {
+        assertEquals(Interval.between(T12, T14), InstantInterval.of(Interval.between(T12, T14)).toInterval());
+        assertEquals(Interval.beginningFrom(T12), InstantInterval.of(Interval.beginningFrom(T12)).toInterval());
+        assertEquals(Interval.endingTo(T14), InstantInterval.of(Interval.endingTo(T14)).toInterval());
+    }
+
+    @Test public void textual_representation() {
+        assertEquals("2020-01-01T12:00:00Z/..", InstantInterval.of(Interval.beginningFrom(T12)).toString());
+    }
+
+    @Test public void slices() {
+        long[] starts = InstantInterval.between(0, 25).slices(10).toArray();
+        assertArrayEquals(new long[] { 0, 10, 20 }, starts);
+        assertEquals(1_000_000, InstantInterval.between(0, 1_000_000_000L).slices(1_000).parallel().count());
+    }
+
+}
@@ -0,0 +1,80 @@
+package themissingobjects.time;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class IntervalIndexTest {
+
+    private static final Instant T0 = Instant.parse("2020-01-01T00:00:00Z");
+
+    @Test public void stab() {
+        IntervalIndex<String> index = IntervalIndex.<String>builder()
+                .add(Interval.between(T0, T0.plusSeconds(10)), "a")
+                .add(Interval.between(T0.plusSeconds(5), T0.plusSeconds(20)), "b")
+                .add(Interval.between(T0.plusSeconds(20), T0.plusSeconds(30)), "c")
+                .build();
+
+        assertEquals(Arrays.asList("a"), index.stab(T0));
+        assertEquals(Arrays.asList("a", "b"), index.stab(T0.plusSeconds(5)));
+        assertEquals(Arrays.asList("c"), index.stab(T0.plusSeconds(20)));
+        assertEquals(Collections.emptyList(), index.stab(T0.plusSeconds(30)));
+    }
+
+    @Test public void open_intervals() {
+        IntervalIndex<String> index = IntervalIndex.<String>builder()
+                .add(Interval.beginningFrom(T0.plusSeconds(10)), "after")
+                .add(Interval.endingTo(T0), "before")
+                .build();
+
+        assertEquals(Arrays.asList("before"), index.stab(T0.minusSeconds(100_000)));
+        assertEquals(Collections.emptyList(), index.stab(T0));
+        assertEquals(Arrays.asList("after"), index.stab(T0.plusSeconds(100_000)));
+        assertEquals(Arrays.asList("before", "after"), index.overlapping(Interval.between(T0.minusSeconds(1), T0.plusSeconds(11))));
+    }
+
+    @Test public void stab_out_of_the_range_of_nanoseconds() {
+        IntervalIndex<String> index = IntervalIndex.<String>builder()
+                .add(Interval.beginningFrom(T0), "after")
+                .add(Interval.endingTo(T0), "before")
+                .add(Interval.between(T0.minusSeconds(10), T0.plusSeconds(10)), "around")
+                .build();
+
+        assertEquals(Arrays.asList("before"), index.stab(Instant.MIN));
+        assertEquals(Arrays.asList("before"), index.stab(Instant.parse("1000-01-01T00:00:00Z")));
+        assertEquals(Arrays.asList("after"), index.stab(Instant.parse("3000-01-01T00:00:00Z")));
+        assertEquals(Arrays.asList("after"), index.stab(Instant.MAX));
+        assertTrue(InstantInterval.of(Interval.endingTo(T0)).contains(Instant.MIN));
+    }
+
+    @Test public void same_results_of_a_linear_scan() {
+        Random random = new Random(42);
+        List<InstantInterval> intervals = new ArrayList<>();
+        IntervalIndex.Builder<Integer> builder = IntervalIndex.builder();
+        for (int i = 0; i < 5000; i++) {
+            long from = random.nextInt(1_000_000);
+            InstantInterval interval = InstantInterval.between(from, from + 1 + random.nextInt(10_000));
+            intervals.add(interval);
+            builder.add(interval, i);
+        }
+        IntervalIndex<Integer> index = builder.build();
+        assertEquals(5000, index.size());
+
+        for (int q = 0; q < 200; q++) {
+            long from = random.nextInt(1_000_000);
+            InstantInterval query = InstantInterval.between(from, from + 1 + random.nextInt(5_000));
+            Set<Integer> expected = new HashSet<>();
+            for (int i = 0; i < intervals.size(); i++)
+                if (intervals.get(i).overlaps(query))
+                    expected.add(i);
+
+            Set<Integer> actual = new HashSet<>();
+            index.overlapping(query, actual::add);
+            assertEquals(expected, actual);
+        }
+    }
+
+}
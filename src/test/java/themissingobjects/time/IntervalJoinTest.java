@@ -0,0 +1,74 @@
+package themissingobjects.time;
+
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+public class IntervalJoinTest {
+
+    private static final Instant T0 = Instant.parse("2020-01-01T00:00:00Z");
+
+    @Test public void join_points_with_intervals() {
+        List<Instant> trades = Arrays.asList(T0.plusSeconds(5), T0.plusSeconds(10), T0.plusSeconds(25));
+        List<Interval<Instant>> validities = Arrays.asList(
+                Interval.between(T0, T0.plusSeconds(10)),
+                Interval.between(T0.plusSeconds(10), T0.plusSeconds(20)),
+                Interval.beginningFrom(T0.plusSeconds(20)));
+
+        Map<Instant, Interval<Instant>> matches = new HashMap<>();
+        IntervalJoin.<Instant, Interval<Instant>>ofPoints(t -> t, v -> v).run(trades, validities, (t, v) -> assertNull(matches.put(t, v)));
+
+        assertEquals(validities.get(0), matches.get(T0.plusSeconds(5)));
+        assertEquals(validities.get(1), matches.get(T0.plusSeconds(10)));
+        assertEquals(validities.get(2), matches.get(T0.plusSeconds(25)));
+    }
+
+    @Test public void same_results_of_a_nested_loop() {
+        Random random = new Random(7);
+        List<InstantInterval> left = randomIntervals(random, 500);
+        List<InstantInterval> right = randomIntervals(random, 700);
+
+        Set<List<InstantInterval>> expected = new HashSet<>();
+        for (InstantInterval l : left)
+            for (InstantInterval r : right)
+                if (l.overlaps(r))
+                    expected.add(Arrays.asList(l, r));
+
+        Set<List<InstantInterval>> actual = new HashSet<>();
+        IntervalJoin.<InstantInterval, InstantInterval>of(InstantInterval::toInterval, InstantInterval::toInterval)
+                .run(left, right, (l, r) -> assertTrue(actual.add(Arrays.asList(l, r))));
+        assertEquals(expected, actual);
+    }
+
+    @Test public void partitioned() {
+        List<String> trades = Arrays.asList("EUR/USD@5", "EUR/GBP@5", "EUR/USD@15");
+        List<String> rates = Arrays.asList("EUR/USD@0-10", "EUR/USD@10-20", "EUR/GBP@0-10", "USD/JPY@0-10");
+
+        Map<String, String> matches = new ConcurrentHashMap<>();
+        IntervalJoin.<String, String>ofPoints(t -> T0.plusSeconds(Long.parseLong(t.split("@")[1])), r -> {
+                    String[] bounds = r.split("@")[1].split("-");
+                    return Interval.between(T0.plusSeconds(Long.parseLong(bounds[0])), T0.plusSeconds(Long.parseLong(bounds[1])));
+                })
+                .partitionedBy(t -> t.split("@")[0], r -> r.split("@")[0])
+                .run(trades, rates, (t, r) -> assertNull(matches.put(t, r)));
+
+        assertEquals(3, matches.size());
+        assertEquals("EUR/USD@0-10", matches.get("EUR/USD@5"));
+        assertEquals("EUR/GBP@0-10", matches.get("EUR/GBP@5"));
+        assertEquals("EUR/USD@10-20", matches.get("EUR/USD@15"));
+    }
+
+    private static List<InstantInterval> randomIntervals(Random random, int n) {
+        List<InstantInterval> intervals = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            long from = InstantInterval.epochNanos(T0) + random.nextInt(1_000_000) * 1_000_000L;
+            intervals.add(InstantInterval.between(from, from + (1 + random.nextInt(20_000)) * 1_000_000L));
+        }
+        return intervals;
+    }
+
+}
@@ -0,0 +1,75 @@
+package themissingobjects.time;
+
+import org.junit.Test;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class IntervalSetTest {
+
+    @Test public void normalization() {
+        IntervalSet<LocalDate> set = IntervalSet.of(
+                between("2020-03-01", "2020-04-01"),
+                between("2020-01-01", "2020-02-01"),
+                between("2020-02-01", "2020-02-15"),
+                between("2020-03-15", "2020-05-01"));
+
+        assertEquals(Arrays.asList(between("2020-01-01", "2020-02-15"), between("2020-03-01", "2020-05-01")), set.intervals());
+        assertEquals("[2020-01-01/2020-02-15, 2020-03-01/2020-05-01]", set.toString());
+    }
+
+    @Test public void contains() {
+        IntervalSet<LocalDate> set = IntervalSet.of(between("2020-01-01", "2020-02-01"), Interval.beginningFrom(date("2020-03-01")));
+        assertTrue(set.contains(date("2020-01-01")));
+        assertFalse(set.contains(date("2020-02-01")));
+        assertTrue(set.contains(date("2999-01-01")));
+        assertFalse(set.contains(date("1999-01-01")));
+    }
+
+    @Test public void union() {
+        IntervalSet<LocalDate> a = IntervalSet.of(between("2020-01-01", "2020-02-01"), between("2020-05-01", "2020-06-01"));
+        IntervalSet<LocalDate> b = IntervalSet.of(between("2020-01-15", "2020-03-01"), Interval.endingTo(date("2019-01-01")));
+
+        assertEquals(IntervalSet.of(Interval.endingTo(date("2019-01-01")), between("2020-01-01", "2020-03-01"), between("2020-05-01", "2020-06-01")), a.union(b));
+    }
+
+    @Test public void intersection() {
+        IntervalSet<LocalDate> a = IntervalSet.of(between("2020-01-01", "2020-02-01"), between("2020-05-01", "2020-06-01"));
+        IntervalSet<LocalDate> b = IntervalSet.of(between("2020-01-15", "2020-05-15"));
+
+        assertEquals(IntervalSet.of(between("2020-01-15", "2020-02-01"), between("2020-05-01", "2020-05-15")), a.intersection(b));
+        assertTrue(a.intersection(IntervalSet.of(between("2020-02-01", "2020-03-01"))).isEmpty());
+    }
+
+    @Test public void difference() {
+        IntervalSet<LocalDate> a = IntervalSet.of(between("2020-01-01", "2020-06-01"));
+        IntervalSet<LocalDate> b = IntervalSet.of(between("2020-02-01", "2020-03-01"), Interval.beginningFrom(date("2020-05-01")));
+
+        assertEquals(IntervalSet.of(between("2020-01-01", "2020-02-01"), between("2020-03-01", "2020-05-01")), a.difference(b));
+    }
+
+    @Test public void complement() {
+        IntervalSet<LocalDate> set = IntervalSet.of(between("2020-01-01", "2020-02-01"), between("2020-03-01", "2020-04-01"));
+
+        assertEquals(IntervalSet.of(Interval.endingTo(date("2020-01-01")), between("2020-02-01", "2020-03-01"), Interval.beginningFrom(date("2020-04-01"))), set.complement());
+        assertEquals(set, set.complement().complement());
+        assertTrue(IntervalSet.<LocalDate>empty().complement().isAll());
+        assertTrue(IntervalSet.<LocalDate>empty().complement().complement().isEmpty());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void all_cannot_be_represented_by_intervals() {
+        IntervalSet.of(Interval.endingTo(date("2020-01-01")), Interval.beginningFrom(date("2010-01-01"))).intervals();
+    }
+
+    private static Interval<LocalDate> between(String from, String to) {
+        return Interval.between(date(from), date(to));
+    }
+
+    private static LocalDate date(String text) {
+        return LocalDate.parse(text);
+    }
+
+}
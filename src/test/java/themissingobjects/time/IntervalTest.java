@@ -3,6 +3,10 @@ package themissingobjects.time;
 import org.junit.Test;
 
 import java.time.*;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.*;
 
@@ -93,4 +97,43 @@ public class IntervalTest {
     @Test public void equality() {
         assertEquals(Interval.between(Year.of(2010), Year.of(2020)), Interval.between(Year.of(2010), Year.of(2020)));
     }
-}
\ No newline at end of file
+
+    @Test public void slices_by_calendar_unit() {
+        Interval<LocalDate> i = Interval.between(LocalDate.parse("2020-01-31"), LocalDate.parse("2020-04-15"));
+        List<Interval<LocalDate>> slices = i.slices(ChronoUnit.MONTHS).collect(Collectors.toList());
+        assertEquals(Arrays.asList(
+                Interval.between(LocalDate.parse("2020-01-31"), LocalDate.parse("2020-02-29")),
+                Interval.between(LocalDate.parse("2020-02-29"), LocalDate.parse("2020-03-31")),
+                Interval.between(LocalDate.parse("2020-03-31"), LocalDate.parse("2020-04-15"))), slices);
+    }
+
+    @Test public void slices_by_duration() {
+        Interval<Instant> i = Interval.between(Instant.parse("2020-01-01T00:00:00Z"), Instant.parse("2020-01-01T00:02:30Z"));
+        List<Interval<Instant>> slices = i.slices(Duration.ofMinutes(1)).collect(Collectors.toList());
+        assertEquals(3, slices.size());
+        assertEquals(Interval.between(Instant.parse("2020-01-01T00:02:00Z"), Instant.parse("2020-01-01T00:02:30Z")), slices.get(2));
+    }
+
+    @Test public void slices_by_duration_longer_than_292_years() {
+        Interval<Instant> i = Interval.between(Instant.parse("1000-01-01T00:00:00Z"), Instant.parse("3000-01-01T00:00:30Z"));
+        List<Interval<Instant>> slices = i.slices(Duration.ofDays(365 * 1000)).collect(Collectors.toList());
+        assertEquals(3, slices.size());
+        assertEquals(Instant.parse("3000-01-01T00:00:30Z"), slices.get(2).to());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void cannot_slice_dates_by_duration() {
+        Interval.between(LocalDate.parse("2020-01-01"), LocalDate.parse("2020-02-01")).slices(Duration.ofDays(1));
+    }
+
+    @Test public void slices_in_parallel() {
+        Interval<Instant> i = Interval.between(Instant.parse("2020-01-01T00:00:00Z"), Instant.parse("2021-01-01T00:00:00Z"));
+        assertEquals(366 * 24 * 60, i.slices(ChronoUnit.MINUTES).parallel().count());
+        assertEquals(i.slices(2, ChronoUnit.HOURS).collect(Collectors.toList()), i.slices(2, ChronoUnit.HOURS).parallel().collect(Collectors.toList()));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void open_interval_cannot_be_sliced() {
+        Interval.beginningFrom(Year.of(2020)).slices(ChronoUnit.YEARS);
+    }
+}
@@ -0,0 +1,182 @@
+package themissingobjects.uid;
+
+import org.junit.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.*;
+
+public class ULIDGeneratorTest {
+
+    private static final Clock FIXED = Clock.fixed(Instant.parse("2020-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+    @Test public void increments_in_same_millisecond() {
+        ULIDGenerator generator = ULIDGenerator.builder().clock(FIXED).build();
+        ULID first = generator.next();
+        ULID second = generator.next();
+        assertEquals(first.mostSignificantBits() >>> 16, FIXED.millis());
+        assertEquals(first.mostSignificantBits(), second.mostSignificantBits());
+        assertEquals(first.leastSignificantBits() + 1, second.leastSignificantBits());
+    }
+
+    @Test public void random_bits_change_in_new_millisecond() {
+        MutableClock clock = new MutableClock(1000);
+        ULIDGenerator generator = ULIDGenerator.builder().clock(clock).secureRandom().build();
+        ULID first = generator.next();
+        clock.millis = 1001;
+        ULID second = generator.next();
+        assertEquals(1001, second.mostSignificantBits() >>> 16);
+        assertNotEquals(first.leastSignificantBits() + 1, second.leastSignificantBits());
+    }
+
+    @Test public void monotonic_when_clock_goes_back() {
+        MutableClock clock = new MutableClock(1000);
+        ULIDGenerator generator = ULIDGenerator.builder().clock(clock).build();
+        ULID first = generator.next();
+        clock.millis = 900;
+        ULID second = generator.next();
+        assertEquals(1000, second.mostSignificantBits() >>> 16);
+        assertEquals(first.leastSignificantBits() + 1, second.leastSignificantBits());
+    }
+
+    @Test public void increment_carries_into_most_significant_bits() {
+        ULID next = ULIDGenerator.plus(ULID.of(1000L << 16 | 0x00FF, -1L), 1);
+        assertEquals(1000L << 16 | 0x0100, next.mostSignificantBits());
+        assertEquals(0, next.leastSignificantBits());
+    }
+
+    @Test public void batch_fills_consecutive_ulids() {
+        ULIDGenerator generator = ULIDGenerator.builder().clock(FIXED).build();
+        ULID before = generator.next();
+        long[] msbs = new long[1002];
+        long[] lsbs = new long[1002];
+        generator.next(msbs, lsbs, 1, 1000);
+        ULID after = generator.next();
+
+        assertEquals(0, msbs[0]);
+        assertEquals(0, msbs[1001]);
+        ULID previous = before;
+        for (int i = 1; i <= 1000; i++) {
+            ULID current = ULID.of(msbs[i], lsbs[i]);
+            assertEquals(ULIDGenerator.plus(previous, 1), current);
+            previous = current;
+        }
+        assertEquals(ULIDGenerator.plus(previous, 1), after);
+    }
+
+    @Test public void batch_as_stream() {
+        MutableClock clock = new MutableClock(1000);
+        ULIDGenerator generator = ULIDGenerator.builder().clock(clock).build();
+        Stream<ULID> batch = generator.next(500);
+        ULID after = generator.next();
+
+        List<ULID> ulids = batch.collect(Collectors.toList());
+        assertEquals(500, ulids.size());
+        assertEquals(1000, ulids.get(0).mostSignificantBits() >>> 16);
+        for (int i = 1; i < ulids.size(); i++)
+            assertTrue(isAfter(ulids.get(i), ulids.get(i - 1)));
+        assertTrue(isAfter(after, ulids.get(499)));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void batch_larger_than_remaining_random_bits() {
+        ULIDGenerator.plus(ULID.of(1000L << 16 | 0xFFFF, -10L), 10);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void random_bits_exhausted() {
+        ULIDGenerator.plus(ULID.of(1000L << 16 | 0xFFFF, -1L), 1);
+    }
+
+    @Test public void unique_and_increasing_per_thread_under_contention() throws InterruptedException {
+        ULIDGenerator generator = ULIDGenerator.create();
+        Set<ULID> all = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                ULID previous = generator.next();
+                all.add(previous);
+                for (int i = 0; i < 20_000; i++) {
+                    ULID next = generator.next();
+                    assertTrue(isAfter(next, previous));
+                    all.add(next);
+                    previous = next;
+                }
+            });
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(1, TimeUnit.MINUTES));
+        assertEquals(4 * 20_001, all.size());
+    }
+
+    @Test public void node_partitioned_ulids() {
+        MutableClock clock = new MutableClock(1000);
+        ULIDGenerator node5 = ULIDGenerator.builder().clock(clock).node(8, 5).build();
+        ULID first = node5.next();
+        assertEquals(1000L << 16 | 5 << 8, first.mostSignificantBits());
+        assertEquals(0, first.leastSignificantBits());
+        assertEquals(1, node5.next().leastSignificantBits());
+
+        clock.millis = 1001;
+        assertEquals(ULID.of(1001L << 16 | 5 << 8, 0), node5.next());
+    }
+
+    @Test public void node_id_wider_than_16_bits() {
+        ULIDGenerator generator = ULIDGenerator.builder().clock(FIXED).node(20, 0xABCDE).build();
+        ULID ulid = generator.next();
+        assertEquals(0xABCD, ulid.mostSignificantBits() & 0xFFFF);
+        assertEquals(0xEL << 60, ulid.leastSignificantBits());
+        assertEquals(0xEL << 60 | 1, generator.next().leastSignificantBits());
+    }
+
+    @Test public void nodes_never_collide() {
+        Set<ULID> all = new HashSet<>();
+        for (int node = 0; node < 4; node++) {
+            ULIDGenerator generator = ULIDGenerator.builder().clock(FIXED).node(2, node).build();
+            for (int i = 0; i < 1000; i++)
+                assertTrue(all.add(generator.next()));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void node_counter_exhausted() {
+        ULIDGenerator generator = ULIDGenerator.builder().clock(FIXED).node(64, 7).build();
+        generator.next(1 << 16);
+        generator.next();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void node_id_must_fit_in_bits() {
+        ULIDGenerator.builder().node(4, 16);
+    }
+
+    private static boolean isAfter(ULID a, ULID b) {
+        int c = Long.compareUnsigned(a.mostSignificantBits(), b.mostSignificantBits());
+        return c > 0 || (c == 0 && Long.compareUnsigned(a.leastSignificantBits(), b.leastSignificantBits()) > 0);
+    }
+
+    static final class MutableClock extends Clock {
+
+        long millis;
+
+        MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        @Override public ZoneOffset getZone() { return ZoneOffset.UTC; }
+        @Override public Clock withZone(java.time.ZoneId zone) { return this; }
+        @Override public long millis() { return millis; }
+        @Override public Instant instant() { return Instant.ofEpochMilli(millis); }
+
+    }
+
+}
@@ -0,0 +1,84 @@
+package themissingobjects.uid;
+
+import org.junit.Test;
+import themissingobjects.time.Interval;
+
+import java.time.Instant;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ULIDRangeTest {
+
+    private static final Instant T0 = Instant.parse("2020-01-01T00:00:00Z");
+
+    @Test public void timestamp() {
+        assertEquals(T0, ULID.of(T0.toEpochMilli() << 16 | 0x1234, 42).timestamp());
+    }
+
+    @Test public void bounds() {
+        ULIDRange range = ULIDRange.of(Interval.between(T0, T0.plusMillis(10)));
+        assertEquals(ULID.of(T0.toEpochMilli() << 16, 0), range.lower());
+        assertEquals(ULID.of((T0.toEpochMilli() + 9) << 16 | 0xFFFF, -1L), range.upper());
+        assertTrue(range.contains(at(T0, 0)));
+        assertTrue(range.contains(at(T0.plusMillis(9), -1L)));
+        assertFalse(range.contains(at(T0.plusMillis(10), 0)));
+        assertFalse(range.contains(at(T0.minusMillis(1), -1L)));
+    }
+
+    @Test public void open_intervals() {
+        assertEquals(ULID.of(0, 0), ULIDRange.of(Interval.endingTo(T0)).lower());
+        assertEquals(ULID.of(-1L, -1L), ULIDRange.of(Interval.beginningFrom(T0)).upper());
+        assertTrue(ULIDRange.of(Interval.beginningFrom(T0)).contains(ULID.randomULID()));
+    }
+
+    @Test public void sub_millisecond_bounds() {
+        ULIDRange range = ULIDRange.of(Interval.between(T0.plusNanos(500_000), T0.plusMillis(2).plusNanos(1)));
+        assertEquals(ULID.of((T0.toEpochMilli() + 1) << 16, 0), range.lower());
+        assertEquals(ULID.of((T0.toEpochMilli() + 2) << 16 | 0xFFFF, -1L), range.upper());
+    }
+
+    @Test public void subSet_of_NavigableSet() {
+        NavigableSet<ULID> ulids = new TreeSet<>();
+        for (int ms = 0; ms < 100; ms++)
+            for (int i = 0; i < 3; i++)
+                ulids.add(at(T0.plusMillis(ms), i));
+
+        NavigableSet<ULID> found = ULIDRange.of(Interval.between(T0.plusMillis(10), T0.plusMillis(20))).subSet(ulids);
+        assertEquals(30, found.size());
+        assertEquals(at(T0.plusMillis(10), 0), found.first());
+        assertEquals(at(T0.plusMillis(19), 2), found.last());
+    }
+
+    @Test public void index_range_of_sorted_array() {
+        List<ULID> list = new ArrayList<>();
+        for (int ms = 0; ms < 100; ms += 2)
+            list.add(at(T0.plusMillis(ms), ms));
+        list.add(at(T0.plusMillis(10), 10));
+        ULID[] sorted = list.toArray(new ULID[0]);
+        Arrays.sort(sorted);
+
+        ULIDRange range = ULIDRange.of(Interval.between(T0.plusMillis(9), T0.plusMillis(15)));
+        int from = range.fromIndex(sorted);
+        int to = range.toIndex(sorted);
+        assertEquals(4, to - from);
+        assertEquals(at(T0.plusMillis(10), 10), sorted[from]);
+        assertEquals(at(T0.plusMillis(14), 14), sorted[to - 1]);
+
+        ULIDRange after = ULIDRange.of(Interval.beginningFrom(T0.plusSeconds(1)));
+        assertEquals(sorted.length, after.fromIndex(sorted));
+        assertEquals(sorted.length, after.toIndex(sorted));
+    }
+
+    @Test public void empty_range() {
+        ULIDRange range = ULIDRange.of(Interval.endingTo(Instant.EPOCH.minusSeconds(1)));
+        assertTrue(range.isEmpty());
+        assertFalse(range.contains(at(T0, 0)));
+        assertTrue(range.subSet(new TreeSet<>(Collections.singleton(at(T0, 0)))).isEmpty());
+    }
+
+    private static ULID at(Instant instant, long random) {
+        return ULID.of(instant.toEpochMilli() << 16, random);
+    }
+
+}
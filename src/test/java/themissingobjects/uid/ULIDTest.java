@@ -0,0 +1,103 @@
+package themissingobjects.uid;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ULIDTest {
+
+    @Test public void textual_representation() {
+        assertEquals("00000000000000000000000000", ULID.of(0, 0).toString());
+        assertEquals("7ZZZZZZZZZZZZZZZZZZZZZZZZZ", ULID.of(-1L, -1L).toString());
+        assertEquals("01ARZ3NDEKTSV4RRFFQ69G5FAV", ULID.of(0x01563E3AB5D3D676L, 0x4C61EFB99302BD5BL).toString());
+    }
+
+    @Test public void randomULID_has_26_characters() {
+        String text = ULID.randomULID().toString();
+        assertEquals(26, text.length());
+        assertTrue(text.matches("[0-7][0-9A-HJKMNP-TV-Z]{25}"));
+    }
+
+    @Test public void randomULID_is_monotonic() {
+        ULID first = ULID.randomULID();
+        ULID second = ULID.randomULID();
+        assertNotEquals(first, second);
+        assertTrue(first.toString().compareTo(second.toString()) < 0);
+    }
+
+    @Test public void parse() {
+        ULID ulid = ULID.of(0x01563E3AB5D3D676L, 0x4C61EFB99302BD5BL);
+        assertEquals(ulid, ULID.parse("01ARZ3NDEKTSV4RRFFQ69G5FAV"));
+        assertEquals(ulid, ULID.parse("01arz3ndektsv4rrffq69g5fav"));
+        assertEquals(ulid, ULID.parse("OLARZ3NDEKTSV4RRFFQ69G5FAV"));
+        assertEquals(ulid, ULID.parse(new StringBuilder(ulid.toString())));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_out_of_range() {
+        ULID.parse("81ARZ3NDEKTSV4RRFFQ69G5FAV");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_invalid_character() {
+        ULID.parse("01ARZ3NDEKTSV4RRFFQ69G5FAU");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_invalid_length() {
+        ULID.parse("01ARZ3NDEKTSV4RRFFQ69G5FA");
+    }
+
+    @Test public void appendTo_and_writeTo() {
+        ULID ulid = ULID.parse("01ARZ3NDEKTSV4RRFFQ69G5FAV");
+        assertEquals("id=01ARZ3NDEKTSV4RRFFQ69G5FAV", ulid.appendTo(new StringBuilder("id=")).toString());
+
+        byte[] ascii = new byte[28];
+        assertEquals(26, ulid.writeTo(ascii, 2));
+        assertEquals("01ARZ3NDEKTSV4RRFFQ69G5FAV", new String(ascii, 2, 26, StandardCharsets.US_ASCII));
+    }
+
+    @Test public void binary_representation() {
+        ULID ulid = ULID.randomULID();
+        ByteBuffer buffer = ByteBuffer.allocate(ULID.BYTES);
+        ulid.writeTo(buffer);
+        assertFalse(buffer.hasRemaining());
+        buffer.flip();
+        assertEquals((byte) (ulid.mostSignificantBits() >>> 56), buffer.get(0));
+        assertEquals(ulid, ULID.readFrom(buffer));
+    }
+
+    @Test public void binary_representation_is_big_endian_whatever_the_order_of_the_buffer() {
+        ULID ulid = ULID.of(0x0102030405060708L, 0x090A0B0C0D0E0F10L);
+        byte[] expected = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16 };
+        ByteBuffer buffer = ByteBuffer.allocate(ULID.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        ulid.writeTo(buffer);
+        assertArrayEquals(expected, buffer.array());
+        assertEquals(ByteOrder.LITTLE_ENDIAN, buffer.order());
+
+        assertEquals(ulid, ULID.readFrom(ByteBuffer.wrap(expected).order(ByteOrder.LITTLE_ENDIAN)));
+    }
+
+    @Test public void compares_as_unsigned_128_bits() {
+        ULID[] ulids = {
+                ULID.of(-1L, 0), ULID.of(1, -1L), ULID.of(1, 0), ULID.of(0, -1L), ULID.of(0, 1), ULID.of(Long.MAX_VALUE, 5)
+        };
+        Arrays.sort(ulids);
+        for (int i = 1; i < ulids.length; i++) {
+            assertTrue(ulids[i - 1].compareTo(ulids[i]) < 0);
+            assertTrue(ulids[i - 1].toString().compareTo(ulids[i].toString()) < 0);
+        }
+    }
+
+    @Test public void equals_and_hashCode() {
+        assertEquals(ULID.of(1, 2), ULID.of(1, 2));
+        assertEquals(ULID.of(1, 2).hashCode(), ULID.of(1, 2).hashCode());
+        assertNotEquals(ULID.of(1, 2), ULID.of(2, 1));
+    }
+
+}